@@ -25,25 +25,116 @@ package cl.kanopus.jdbc;
 
 import cl.kanopus.common.data.enums.SortOrder;
 import cl.kanopus.jdbc.exception.DataException;
+import cl.kanopus.jdbc.util.JdbcCache;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+/**
+ * The bulk operations are default methods that use the single row ones, so the existing implementations of this interface keep compiling. AbstractDAO overrides them
+ * with batches and native statements of the engine.
+ */
 public interface DAOInterface<T, I> {
 
     long generateID() throws DataException;
 
     T persist(T entity) throws DataException;
 
+    default int[] persistAll(Collection<T> entities) throws DataException {
+        int[] counts = new int[entities.size()];
+        int i = 0;
+        for (T entity : entities) {
+            persist(entity);
+            counts[i++] = 1;
+        }
+        return counts;
+    }
+
+    default int[] persistAll(Collection<T> entities, int chunkSize) throws DataException {
+        return persistAll(entities);
+    }
+
+    default int persistAllMultiRow(Collection<T> entities) throws DataException {
+        return persistAll(entities).length;
+    }
+
+    default long copyAll(Iterable<T> entities) throws DataException {
+        long total = 0;
+        for (T entity : entities) {
+            persist(entity);
+            total++;
+        }
+        return total;
+    }
+
     T update(T entity) throws DataException;
 
+    /**
+     * Updates the entity when a row with its primary key exists, otherwise persists it. AbstractDAO uses a single native statement of the engine instead.
+     */
+    @SuppressWarnings("unchecked")
+    default T upsert(T entity) throws DataException {
+        Object id = JdbcCache.accessor((Class<T>) entity.getClass()).getKey(entity);
+        if (id != null && existsById((I) id)) {
+            return update(entity);
+        }
+        return persist(entity);
+    }
+
+    default int[] upsertAll(Collection<T> entities) throws DataException {
+        int[] counts = new int[entities.size()];
+        int i = 0;
+        for (T entity : entities) {
+            upsert(entity);
+            counts[i++] = 1;
+        }
+        return counts;
+    }
+
+    default int[] upsertAll(Collection<T> entities, int chunkSize) throws DataException {
+        return upsertAll(entities);
+    }
+
+    default int[] updateAll(Collection<T> entities) throws DataException {
+        int[] counts = new int[entities.size()];
+        int i = 0;
+        for (T entity : entities) {
+            update(entity);
+            counts[i++] = 1;
+        }
+        return counts;
+    }
+
+    default int[] updateAll(Collection<T> entities, int chunkSize) throws DataException {
+        return updateAll(entities);
+    }
+
     int deleteById(I id) throws DataException;
 
+    default int deleteByIds(Collection<I> ids) throws DataException {
+        int total = 0;
+        for (I id : ids) {
+            total += deleteById(id);
+        }
+        return total;
+    }
+
     Optional<T> findById(I id) throws DataException;
 
     T getById(I id) throws DataException;
 
     T getById(I id, boolean loadAll) throws DataException;
 
+    default Map<I, T> findByIds(Collection<I> ids) throws DataException {
+        Map<I, T> found = new LinkedHashMap<>();
+        for (I id : ids) {
+            findById(id).ifPresent(entity -> found.put(id, entity));
+        }
+        return found;
+    }
+
     List<T> findAll() throws DataException;
 
     List<T> findTop(int limit, SortOrder sortOrder) throws DataException;
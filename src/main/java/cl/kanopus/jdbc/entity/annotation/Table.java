@@ -36,9 +36,15 @@ public @interface Table {
 
     String sequence() default AnnotationDefaults.UNASSIGNED;
 
+    // number of values of the sequence fetched in one query by generateID, 1 fetches every value separately
+    int allocationSize() default 1;
+
     String[] keys() default AnnotationDefaults.UNASSIGNED;
 
     boolean readonly() default false;
 
     String defaultOrderBy() default AnnotationDefaults.UNASSIGNED;
+
+    // keeps the raw values of the loaded entities so update only writes the changed columns, mutable values (json, lists) are always written
+    boolean dirtyTracking() default false;
 }
@@ -0,0 +1,129 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.entity.mapper;
+
+import cl.kanopus.jdbc.entity.annotation.AnnotationDefaults;
+import cl.kanopus.jdbc.entity.annotation.Column;
+import cl.kanopus.jdbc.entity.annotation.Table;
+import cl.kanopus.jdbc.exception.DataException;
+import cl.kanopus.jdbc.util.JdbcCache;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Accessors of the declared fields of a class, shared by the read path (row mapping) and the write path (parameters of persist and update).
+ *
+ * <p>
+ * Getters and setters are method handles obtained once with a private lookup, so the entity state is not accessed through {@link Field#get(Object)} and {@link Field#set(Object, Object)} anymore. Instances are immutable and should be obtained from JdbcCache.
+ *
+ * @param <T>
+ */
+public final class EntityAccessor<T> {
+
+    private final Class<T> clazz;
+    private final MethodHandles.Lookup lookup;
+    private final List<FieldAccessor> fields;
+
+    public EntityAccessor(Class<T> clazz) {
+        this.clazz = clazz;
+        try {
+            this.lookup = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+            List<FieldAccessor> accessors = new ArrayList<>();
+            for (Field field : clazz.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    accessors.add(new FieldAccessor(field, lookup, JdbcCache.generatedGetter(field), JdbcCache.generatedSetter(field)));
+                }
+            }
+            this.fields = Collections.unmodifiableList(accessors);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("It is not possible to access the fields of the class: " + clazz.getName(), ex);
+        }
+    }
+
+    public Class<T> getMappedClass() {
+        return clazz;
+    }
+
+    /**
+     * Private lookup of the class, used to create its constructors without changing their accessible flag.
+     */
+    MethodHandles.Lookup getLookup() {
+        return lookup;
+    }
+
+    /**
+     * Returns the accessors of the instance fields, in declaration order.
+     */
+    public List<FieldAccessor> getFields() {
+        return fields;
+    }
+
+    /**
+     * Value of the primary key of the Table of the class in {target}: the value of the key column, or an array with the values of a composite key. Returns null when a
+     * key has no value.
+     */
+    public Object getKey(T target) {
+        Table table = clazz.getAnnotation(Table.class);
+        if (table == null || table.keys().length == 0 || AnnotationDefaults.UNASSIGNED.equals(table.keys()[0])) {
+            throw new DataException("It is necessary to specify the primary keys for the entity: " + clazz.getCanonicalName());
+        }
+        List<String> keys = Arrays.asList(table.keys());
+        Object[] values = new Object[keys.size()];
+        collectKeys(this, target, keys, values);
+        for (Object value : values) {
+            if (value == null) {
+                return null;
+            }
+        }
+        return values.length == 1 ? values[0] : values;
+    }
+
+    private static void collectKeys(EntityAccessor<?> accessor, Object target, List<String> keys, Object[] values) {
+        if (target == null) {
+            return;
+        }
+        for (FieldAccessor field : accessor.getFields()) {
+            Column column = field.getColumn();
+            if (column != null && keys.contains(column.name())) {
+                values[keys.indexOf(column.name())] = field.get(target);
+            } else if (column == null && field.getColumnGroup() != null) {
+                collectKeys(JdbcCache.accessor(field.getType()), field.get(target), keys, values);
+            }
+        }
+    }
+
+    public FieldAccessor getField(String name) {
+        for (FieldAccessor field : fields) {
+            if (field.getName().equals(name)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,190 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.entity.mapper;
+
+import cl.kanopus.jdbc.entity.annotation.Column;
+import cl.kanopus.jdbc.entity.annotation.ColumnGroup;
+import cl.kanopus.jdbc.entity.annotation.JoinTable;
+import cl.kanopus.jdbc.util.converter.Converter;
+import cl.kanopus.jdbc.util.converter.ConverterRegistry;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Reads and writes one field of an entity through method handles that are created only once, together with the mapping annotations of the field. When
+ * JdbcMappingProcessor generated a getter or setter for the field, it is used instead of the method handle.
+ */
+public final class FieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final Column column;
+    private final ColumnGroup columnGroup;
+    private final JoinTable joinTable;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final MethodHandle primitiveSetter;
+    private final Converter<Object> converter;
+    private final Function<Object, Object> generatedGetter;
+    private final BiConsumer<Object, Object> generatedSetter;
+
+    @SuppressWarnings("unchecked")
+    FieldAccessor(Field field, MethodHandles.Lookup lookup, Function<Object, Object> generatedGetter, BiConsumer<Object, Object> generatedSetter) throws IllegalAccessException {
+        this.field = field;
+        this.column = field.getAnnotation(Column.class);
+        this.columnGroup = field.getAnnotation(ColumnGroup.class);
+        this.joinTable = field.getAnnotation(JoinTable.class);
+        this.getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+        this.setter = prepareSetter(field, lookup, SETTER_TYPE);
+        this.primitiveSetter = field.getType().isPrimitive() ? prepareSetter(field, lookup, MethodType.methodType(void.class, Object.class, field.getType())) : null;
+        this.converter = column != null ? (Converter<Object>) ConverterRegistry.resolve(column, field.getType()) : null;
+        this.generatedGetter = generatedGetter;
+        this.generatedSetter = setter != null ? generatedSetter : null;
+    }
+
+    /**
+     * Final fields, as the components of a record, have no setter: they are only assigned through the constructor of the class, see MappingPlan.
+     */
+    private static MethodHandle prepareSetter(Field field, MethodHandles.Lookup lookup, MethodType type) {
+        if (Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+        try {
+            return lookup.unreflectSetter(field).asType(type);
+        } catch (IllegalAccessException ex) {
+            return null;
+        }
+    }
+
+    public String getName() {
+        return field.getName();
+    }
+
+    public Class<?> getType() {
+        return field.getType();
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Column getColumn() {
+        return column;
+    }
+
+    public ColumnGroup getColumnGroup() {
+        return columnGroup;
+    }
+
+    public JoinTable getJoinTable() {
+        return joinTable;
+    }
+
+    /**
+     * Converter of the column resolved when the accessor was created, null if the field has no {@link Column}.
+     */
+    public Converter<Object> getConverter() {
+        return converter;
+    }
+
+    public Object get(Object target) {
+        if (generatedGetter != null) {
+            return generatedGetter.apply(target);
+        }
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Error reading the field " + field.getName() + " of " + field.getDeclaringClass().getName(), ex);
+        }
+    }
+
+    public boolean isWritable() {
+        return setter != null;
+    }
+
+    public void set(Object target, Object value) {
+        if (setter == null) {
+            throw new IllegalStateException("The field " + field.getDeclaringClass().getName() + "." + field.getName() + " cannot be written");
+        }
+        try {
+            if (generatedSetter != null) {
+                generatedSetter.accept(target, value);
+            } else {
+                setter.invokeExact(target, value);
+            }
+        } catch (NullPointerException | ClassCastException ex) {
+            throw new IllegalArgumentException("Can not set " + field.getType().getName() + " field " + field.getDeclaringClass().getName() + "." + field.getName() + " to " + (value != null ? value.getClass().getName() : "null value"), ex);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Error writing the field " + field.getName() + " of " + field.getDeclaringClass().getName(), ex);
+        }
+    }
+
+    public void setLong(Object target, long value) {
+        try {
+            primitiveSetter(long.class).invokeExact(target, value);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Error writing the field " + field.getName() + " of " + field.getDeclaringClass().getName(), ex);
+        }
+    }
+
+    public void setInt(Object target, int value) {
+        try {
+            primitiveSetter(int.class).invokeExact(target, value);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Error writing the field " + field.getName() + " of " + field.getDeclaringClass().getName(), ex);
+        }
+    }
+
+    public void setBoolean(Object target, boolean value) {
+        try {
+            primitiveSetter(boolean.class).invokeExact(target, value);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Error writing the field " + field.getName() + " of " + field.getDeclaringClass().getName(), ex);
+        }
+    }
+
+    private MethodHandle primitiveSetter(Class<?> type) {
+        if (primitiveSetter == null || field.getType() != type) {
+            throw new IllegalStateException("The field " + field.getDeclaringClass().getName() + "." + field.getName() + " cannot be written as " + type.getName());
+        }
+        return primitiveSetter;
+    }
+}
@@ -0,0 +1,103 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.entity.mapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Metadata of an entity generated at build time by JdbcMappingProcessor. When an implementation is found for a class, JdbcCache uses its SQL and maps, DmlStatements its
+ * columns and statements, and FieldAccessor its getters and setters, instead of reading the annotations and the fields with reflection.
+ *
+ * <p>
+ * Implementations are registered as services of this interface by the processor and are loaded with {@link java.util.ServiceLoader}.
+ */
+public interface GeneratedMapping {
+
+    String SUFFIX = "_JdbcMapping";
+
+    Class<?> getMappedClass();
+
+    /**
+     * Base table of the entity, null for views.
+     */
+    String getTable();
+
+    String getSql(boolean loadAll);
+
+    Map<String, String> getAliasMap(boolean loadAll);
+
+    Map<String, String> getTranslationMap();
+
+    /**
+     * Columns of the INSERT with the serial columns, in the order of the statement. Null for views.
+     */
+    default List<String> getInsertColumns() {
+        return null;
+    }
+
+    /**
+     * Columns of the full UPDATE, the keys included.
+     */
+    default List<String> getUpdateColumns() {
+        return null;
+    }
+
+    default List<String> getSerialColumns() {
+        return null;
+    }
+
+    default String getInsertSql(boolean serialProvided) {
+        return null;
+    }
+
+    default String getUpdateSql() {
+        return null;
+    }
+
+    default String getDeleteSql() {
+        return null;
+    }
+
+    /**
+     * Getters of the mapped fields of the entity and its column groups that the generated code can reach, the key is the name of the declaring class and the field
+     * separated by '#'. A field that is not listed keeps the method handle of FieldAccessor.
+     */
+    default Map<String, Function<Object, Object>> getGetters() {
+        return Map.of();
+    }
+
+    /**
+     * Setters of the mapped fields, with the same keys of getGetters. Final fields have no setter.
+     */
+    default Map<String, BiConsumer<Object, Object>> getSetters() {
+        return Map.of();
+    }
+
+    static String fieldKey(String className, String fieldName) {
+        return className + "#" + fieldName;
+    }
+}
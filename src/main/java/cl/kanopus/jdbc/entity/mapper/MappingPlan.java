@@ -0,0 +1,598 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.entity.mapper;
+
+import cl.kanopus.common.util.Utils;
+import cl.kanopus.jdbc.entity.annotation.Column;
+import cl.kanopus.jdbc.entity.annotation.ColumnGroup;
+import cl.kanopus.jdbc.entity.annotation.JoinTable;
+import cl.kanopus.jdbc.entity.annotation.Table;
+import cl.kanopus.jdbc.exception.DataException;
+import cl.kanopus.jdbc.util.JdbcCache;
+import cl.kanopus.jdbc.util.converter.BooleanConverter;
+import cl.kanopus.jdbc.util.converter.Converter;
+import cl.kanopus.jdbc.util.converter.ConverterRegistry;
+import cl.kanopus.jdbc.util.converter.IntConverter;
+import cl.kanopus.jdbc.util.converter.LongConverter;
+import cl.kanopus.jdbc.util.parser.*;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.crypto.BadPaddingException;
+import org.springframework.jdbc.support.JdbcUtils;
+
+/**
+ * Immutable mapping plan of a class, resolved only once from its annotations.
+ *
+ * <p>
+ * The plan is an array of slots where each slot already knows the column label to read, the accessor of the field to assign and the converter to apply. Nested {@link ColumnGroup} and {@link JoinTable} mappings are part of the same plan, and every column of the tree receives an ordinal so that a
+ * {@link MappingRowMapper} can resolve all of them against the ResultSet metadata in a single pass.
+ *
+ * @param <T>
+ */
+@SuppressWarnings("all")
+public final class MappingPlan<T> {
+
+    private final Class<T> clazz;
+    private final Factory factory;
+    private final int node;
+    private final int[] ordinals;
+    private final Slot[] slots;
+    private final String[] labels;
+    private final FieldAccessor[] jdbcTypeFields;
+    private final int nodes;
+
+    public MappingPlan(Class<T> clazz, boolean loadAll) {
+        this(clazz, loadAll, new Context());
+    }
+
+    private MappingPlan(Class<T> clazz, boolean loadAll, Context context) {
+        this.clazz = clazz;
+        this.node = context.nodes++;
+        context.path.add(clazz);
+        List<Integer> own = new ArrayList<>();
+        this.slots = prepareSlots(clazz, loadAll, context, own);
+        this.factory = prepareFactory(clazz, slots);
+        context.path.remove(clazz);
+        this.ordinals = own.stream().mapToInt(Integer::intValue).toArray();
+        this.labels = context.labels.toArray(new String[0]);
+        this.jdbcTypeFields = context.jdbcTypeFields.toArray(new FieldAccessor[0]);
+        this.nodes = context.nodes;
+    }
+
+    public Class<T> getMappedClass() {
+        return clazz;
+    }
+
+    /**
+     * Resolves the column index of every planned field against the metadata of the ResultSet.
+     */
+    Binding bind(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int index = metaData.getColumnCount(); index > 0; index--) {
+            // the first column wins when the same label is repeated, as in ResultSet.findColumn
+            indexes.put(JdbcUtils.lookupColumnName(metaData, index).toLowerCase(Locale.ROOT), index);
+        }
+
+        int[] columns = new int[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            columns[i] = indexes.getOrDefault(labels[i].toLowerCase(Locale.ROOT), 0);
+        }
+
+        Converter[] converters = new Converter[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            FieldAccessor field = jdbcTypeFields[i];
+            if (field != null && columns[i] > 0) {
+                converters[i] = ConverterRegistry.resolve(field.getColumn(), field.getType(), metaData.getColumnType(columns[i]));
+            }
+        }
+
+        boolean[] present = new boolean[nodes];
+        mark(columns, present);
+        return new Binding(rs, columns, converters, present);
+    }
+
+    private void mark(int[] columns, boolean[] present) {
+        boolean complete = true;
+        for (int ordinal : ordinals) {
+            complete &= columns[ordinal] > 0;
+        }
+        present[node] = complete;
+        for (Slot slot : slots) {
+            if (slot instanceof NestedSlot) {
+                ((NestedSlot) slot).plan.mark(columns, present);
+            }
+        }
+    }
+
+    /**
+     * Returns the first planned column of this class (without nested mappings) that is not part of the ResultSet.
+     */
+    String missingColumn(Binding binding) {
+        for (int ordinal : ordinals) {
+            if (binding.columns[ordinal] == 0) {
+                return labels[ordinal];
+            }
+        }
+        return null;
+    }
+
+    T map(ResultSet rs, Binding binding, int i) throws Exception {
+        if (factory == null) {
+            throw new InstantiationException("There is no constructor without arguments or with the mapped fields into the class: " + clazz.getCanonicalName());
+        }
+        try {
+            return (T) factory.create(slots, rs, binding, i);
+        } catch (Exception | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Ordinals of the key columns of the table, or of all the columns of the class when the key is not mapped.
+     */
+    private int[] keyOrdinals() {
+        Table table = clazz.getAnnotation(Table.class);
+        if (table != null && table.keys().length > 0) {
+            for (Slot slot : slots) {
+                if (slot instanceof ColumnValueSlot && slot.field.getColumn().name().equalsIgnoreCase(table.keys()[0])) {
+                    return new int[]{((ColumnValueSlot) slot).ordinal};
+                }
+            }
+        }
+        return ordinals;
+    }
+
+    /**
+     * Classes with a constructor without arguments and no final mapped fields are created first and then their fields are assigned. Records, and classes with a
+     * constructor that receives the mapped fields in declaration order, are created with a single call of that constructor, which is the only way to assign a final
+     * field.
+     */
+    private static Factory prepareFactory(Class clazz, Slot[] slots) {
+        EntityAccessor<?> accessor = JdbcCache.accessor((Class<?>) clazz);
+        MethodHandles.Lookup lookup = accessor.getLookup();
+        if (!clazz.isRecord() && allWritable(slots)) {
+            try {
+                return new SetterFactory(lookup.findConstructor(clazz, MethodType.methodType(void.class)).asType(MethodType.methodType(Object.class)));
+            } catch (NoSuchMethodException | IllegalAccessException ex) {
+                // continue with a constructor with arguments
+            }
+        }
+
+        List<FieldAccessor> fields = new ArrayList<>();
+        if (clazz.isRecord()) {
+            fields.addAll(accessor.getFields());
+        } else {
+            for (Slot slot : slots) {
+                fields.add(slot.field);
+            }
+        }
+
+        Class<?>[] types = new Class<?>[fields.size()];
+        Slot[] parameters = new Slot[fields.size()];
+        Object[] defaults = new Object[fields.size()];
+        for (int k = 0; k < types.length; k++) {
+            FieldAccessor field = fields.get(k);
+            types[k] = field.getType();
+            for (Slot slot : slots) {
+                if (slot.field == field) {
+                    parameters[k] = slot;
+                }
+            }
+            defaults[k] = types[k].isPrimitive() ? Array.get(Array.newInstance(types[k], 1), 0) : null;
+        }
+
+        try {
+            MethodHandle constructor = lookup.findConstructor(clazz, MethodType.methodType(void.class, types));
+            return new ConstructorFactory(constructor.asSpreader(Object[].class, types.length).asType(MethodType.methodType(Object.class, Object[].class)), parameters, defaults);
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            return null;
+        }
+    }
+
+    private static boolean allWritable(Slot[] slots) {
+        for (Slot slot : slots) {
+            if (!slot.field.isWritable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Slot[] prepareSlots(Class clazz, boolean loadAll, Context context, List<Integer> own) {
+        List<Slot> slots = new ArrayList<>();
+        for (FieldAccessor field : JdbcCache.accessor((Class<?>) clazz).getFields()) {
+            Column column = field.getColumn();
+            if (column != null) {
+                int ordinal = context.labels.size();
+                boolean byJdbcType = ConverterRegistry.dependsOnJdbcType(column, field.getType());
+                context.labels.add(prepareLabel(column));
+                context.jdbcTypeFields.add(byJdbcType ? field : null);
+                own.add(ordinal);
+                slots.add(prepareColumnSlot(field, ordinal, byJdbcType));
+            } else {
+                ColumnGroup columnGroup = field.getColumnGroup();
+                if (columnGroup != null) {
+                    if (!context.path.contains(columnGroup.result())) {
+                        slots.add(new GroupSlot(field, columnGroup, new MappingPlan(columnGroup.result(), loadAll, context)));
+                    }
+                } else {
+                    JoinTable joinTable = field.getJoinTable();
+                    if (joinTable != null && !context.path.contains(joinTable.table())) {
+                        slots.add(new JoinSlot(field, new MappingPlan(joinTable.table(), loadAll, context)));
+                    }
+                }
+            }
+        }
+        return slots.toArray(new Slot[0]);
+    }
+
+    private static String prepareLabel(Column column) {
+        if (column.parser() == EnumParser.class || column.parser() == JsonListParser.class || column.parser() == JsonParser.class || column.parser() == ByteaJsonListParser.class || column.parser() == ByteaJsonParser.class) {
+            return column.name();
+        }
+        return !Utils.isNullOrEmpty(column.alias()) ? column.alias() : column.name();
+    }
+
+    /**
+     * Primitive fields whose converter reads the primitive value are assigned without boxing.
+     */
+    private static Slot prepareColumnSlot(FieldAccessor field, int ordinal, boolean byJdbcType) {
+        Converter converter = field.getConverter();
+        if (!byJdbcType && field.isWritable()) {
+            Class<?> type = field.getType();
+            if (type == long.class && converter instanceof LongConverter) {
+                return new LongSlot(field, ordinal, (LongConverter) converter);
+            } else if (type == int.class && converter instanceof IntConverter) {
+                return new IntSlot(field, ordinal, (IntConverter) converter);
+            } else if (type == boolean.class && converter instanceof BooleanConverter) {
+                return new BooleanSlot(field, ordinal, (BooleanConverter) converter);
+            }
+        }
+        return new ColumnSlot(field, ordinal, converter);
+    }
+
+    private static boolean isBadPadding(Exception ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause.getClass() == BadPaddingException.class) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Context {
+
+        private final List<String> labels = new ArrayList<>();
+        private final List<FieldAccessor> jdbcTypeFields = new ArrayList<>();
+        private final Set<Class> path = new HashSet<>();
+        private int nodes;
+    }
+
+    abstract static class Factory {
+
+        abstract Object create(Slot[] slots, ResultSet rs, Binding binding, int i) throws Throwable;
+    }
+
+    static final class SetterFactory extends Factory {
+
+        private final MethodHandle constructor;
+
+        SetterFactory(MethodHandle constructor) {
+            this.constructor = constructor;
+        }
+
+        @Override
+        Object create(Slot[] slots, ResultSet rs, Binding binding, int i) throws Throwable {
+            Object object = (Object) constructor.invokeExact();
+            for (Slot slot : slots) {
+                slot.map(object, rs, binding, i);
+            }
+            return object;
+        }
+    }
+
+    static final class ConstructorFactory extends Factory {
+
+        private final MethodHandle constructor;
+        private final Slot[] parameters;
+        private final Object[] defaults;
+
+        ConstructorFactory(MethodHandle constructor, Slot[] parameters, Object[] defaults) {
+            this.constructor = constructor;
+            this.parameters = parameters;
+            this.defaults = defaults;
+        }
+
+        @Override
+        Object create(Slot[] slots, ResultSet rs, Binding binding, int i) throws Throwable {
+            Object[] values = new Object[parameters.length];
+            for (int k = 0; k < parameters.length; k++) {
+                if (parameters[k] == null) {
+                    values[k] = defaults[k];
+                    continue;
+                }
+                values[k] = parameters[k].value(rs, binding, i);
+                // only the primitive parameters have a default value
+                if (values[k] == null && defaults[k] != null) {
+                    throw parameters[k].nullPrimitive();
+                }
+            }
+            return (Object) constructor.invokeExact(values);
+        }
+    }
+
+    /**
+     * Column indexes of a plan resolved for one ResultSet.
+     */
+    static final class Binding {
+
+        private final ResultSet rs;
+        private final int[] columns;
+        private final Converter[] converters;
+        private final boolean[] present;
+
+        private Binding(ResultSet rs, int[] columns, Converter[] converters, boolean[] present) {
+            this.rs = rs;
+            this.columns = columns;
+            this.converters = converters;
+            this.present = present;
+        }
+
+        boolean isBoundTo(ResultSet rs) {
+            return this.rs == rs;
+        }
+    }
+
+    abstract static class Slot {
+
+        protected final FieldAccessor field;
+
+        Slot(FieldAccessor field) {
+            this.field = field;
+        }
+
+        /**
+         * Returns the value of the field for the current row.
+         */
+        abstract Object value(ResultSet rs, Binding binding, int i) throws Exception;
+
+        void map(Object object, ResultSet rs, Binding binding, int i) throws Exception {
+            field.set(object, value(rs, binding, i));
+        }
+
+        protected DataException nullPrimitive() {
+            return new DataException("The column " + field.getColumn().name() + " is null and can not be assigned to the primitive field " + field.getName() + " ("
+                    + field.getType().getName() + ")");
+        }
+    }
+
+    abstract static class ColumnValueSlot extends Slot {
+
+        protected final int ordinal;
+
+        ColumnValueSlot(FieldAccessor field, int ordinal) {
+            super(field);
+            this.ordinal = ordinal;
+        }
+
+    }
+
+    static final class ColumnSlot extends ColumnValueSlot {
+
+        private final Converter converter;
+
+        ColumnSlot(FieldAccessor field, int ordinal, Converter converter) {
+            super(field, ordinal);
+            this.converter = converter;
+        }
+
+        @Override
+        Object value(ResultSet rs, Binding binding, int i) throws Exception {
+            Converter current = binding.converters[ordinal] != null ? binding.converters[ordinal] : converter;
+            return current.read(rs, binding.columns[ordinal]);
+        }
+    }
+
+    static final class LongSlot extends ColumnValueSlot {
+
+        private final LongConverter converter;
+
+        LongSlot(FieldAccessor field, int ordinal, LongConverter converter) {
+            super(field, ordinal);
+            this.converter = converter;
+        }
+
+        @Override
+        Object value(ResultSet rs, Binding binding, int i) throws Exception {
+            return converter.read(rs, binding.columns[ordinal]);
+        }
+
+        @Override
+        void map(Object object, ResultSet rs, Binding binding, int i) throws Exception {
+            long value = converter.readLong(rs, binding.columns[ordinal]);
+            if (value == 0 && rs.wasNull()) {
+                throw nullPrimitive();
+            }
+            field.setLong(object, value);
+        }
+    }
+
+    static final class IntSlot extends ColumnValueSlot {
+
+        private final IntConverter converter;
+
+        IntSlot(FieldAccessor field, int ordinal, IntConverter converter) {
+            super(field, ordinal);
+            this.converter = converter;
+        }
+
+        @Override
+        Object value(ResultSet rs, Binding binding, int i) throws Exception {
+            return converter.read(rs, binding.columns[ordinal]);
+        }
+
+        @Override
+        void map(Object object, ResultSet rs, Binding binding, int i) throws Exception {
+            int value = converter.readInt(rs, binding.columns[ordinal]);
+            if (value == 0 && rs.wasNull()) {
+                throw nullPrimitive();
+            }
+            field.setInt(object, value);
+        }
+    }
+
+    static final class BooleanSlot extends ColumnValueSlot {
+
+        private final BooleanConverter converter;
+
+        BooleanSlot(FieldAccessor field, int ordinal, BooleanConverter converter) {
+            super(field, ordinal);
+            this.converter = converter;
+        }
+
+        @Override
+        Object value(ResultSet rs, Binding binding, int i) throws Exception {
+            return converter.read(rs, binding.columns[ordinal]);
+        }
+
+        @Override
+        void map(Object object, ResultSet rs, Binding binding, int i) throws Exception {
+            boolean value = converter.readBoolean(rs, binding.columns[ordinal]);
+            if (!value && rs.wasNull()) {
+                throw nullPrimitive();
+            }
+            field.setBoolean(object, value);
+        }
+    }
+
+    abstract static class NestedSlot extends Slot {
+
+        protected final MappingPlan plan;
+        private final int[] sentinels;
+
+        NestedSlot(FieldAccessor field, MappingPlan plan, int[] sentinels) {
+            super(field);
+            this.plan = plan;
+            this.sentinels = sentinels;
+        }
+
+        /**
+         * Returns true when every sentinel column of the row is null, in that case there is no data for the nested object and it is not mapped.
+         */
+        protected boolean isEmpty(ResultSet rs, Binding binding) throws SQLException {
+            if (sentinels.length == 0) {
+                return false;
+            }
+            for (int ordinal : sentinels) {
+                if (rs.getObject(binding.columns[ordinal]) != null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        protected SQLException error(Exception ex) {
+            if (isBadPadding(ex)) {
+                return new SQLException(plan.getMappedClass().getName() + " cannot be decrypted using security key", ex.getMessage(), ex);
+            }
+            return new SQLException("Error mapping the field " + field.getName() + " as " + plan.getMappedClass().getName() + ": " + ex.getMessage(), ex);
+        }
+    }
+
+    static final class GroupSlot extends NestedSlot {
+
+        private final ColumnGroup columnGroup;
+
+        /**
+         * A nullable group is null when all its columns are null.
+         */
+        GroupSlot(FieldAccessor field, ColumnGroup columnGroup, MappingPlan plan) {
+            super(field, plan, columnGroup.nullable() ? plan.ordinals : new int[0]);
+            this.columnGroup = columnGroup;
+        }
+
+        @Override
+        Object value(ResultSet rs, Binding binding, int i) throws Exception {
+            if (!binding.present[plan.node]) {
+                // SQL incomplete, the columns of the group are not part of the query
+                if (!columnGroup.nullable()) {
+                    throw new SQLException(columnGroup.result().getName() + " cannot be null", "Column " + plan.missingColumn(binding) + " was not found in the ResultSet");
+                }
+                return null;
+            }
+            if (isEmpty(rs, binding)) {
+                return null;
+            }
+            try {
+                return plan.map(rs, binding, i);
+            } catch (Exception ex) {
+                if (!columnGroup.nullable() && !isBadPadding(ex)) {
+                    throw new SQLException(columnGroup.result().getName() + " cannot be null", ex.getMessage(), ex);
+                }
+                throw error(ex);
+            }
+        }
+    }
+
+    static final class JoinSlot extends NestedSlot {
+
+        /**
+         * A joined table is null when its key column is null, as in a LEFT JOIN without a matching row. When the key is not mapped, all its columns must be null.
+         */
+        JoinSlot(FieldAccessor field, MappingPlan plan) {
+            super(field, plan, plan.keyOrdinals());
+        }
+
+        @Override
+        Object value(ResultSet rs, Binding binding, int i) throws Exception {
+            if (!binding.present[plan.node]) {
+                // SQL incomplete, the joined table is not part of the query (lazy)
+                return null;
+            }
+            if (isEmpty(rs, binding)) {
+                return null;
+            }
+            try {
+                return plan.map(rs, binding, i);
+            } catch (Exception ex) {
+                throw error(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.entity.mapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * RowMapper that executes a {@link MappingPlan}.
+ *
+ * <p>
+ * The columns of the plan are resolved by label only once per ResultSet, using its metadata, and every row is then read with index based getters. A column of the class that is not part of the SELECT is reported when binding the ResultSet, not on each row. Instances are cheap, so a new one should be
+ * obtained from JdbcCache for each query.
+ *
+ * @param <T>
+ */
+@SuppressWarnings("all")
+public class MappingRowMapper<T> extends AbstractRowMapper<T> {
+
+    private final MappingPlan<T> plan;
+    private MappingPlan.Binding binding;
+
+    public MappingRowMapper(MappingPlan<T> plan) {
+        this.plan = plan;
+    }
+
+    public MappingPlan<T> getPlan() {
+        return plan;
+    }
+
+    @Override
+    public T mapRow(ResultSet rs, int i) throws SQLException {
+        T object;
+        try {
+            MappingPlan.Binding current = binding;
+            if (current == null || !current.isBoundTo(rs)) {
+                current = plan.bind(rs);
+                String missing = plan.missingColumn(current);
+                if (missing != null) {
+                    throw new SQLException("The column " + missing + " was not found in the ResultSet");
+                }
+                binding = current;
+            }
+            object = plan.map(rs, current, i);
+        } catch (Exception ex) {
+            throw new SQLException("Error performing automatic rowmapper of " + plan.getMappedClass() + ": " + ex.getMessage(), ex);
+        }
+        return object;
+    }
+}
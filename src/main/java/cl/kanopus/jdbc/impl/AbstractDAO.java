@@ -26,9 +26,7 @@ package cl.kanopus.jdbc.impl;
 import cl.kanopus.common.data.Paginator;
 import cl.kanopus.common.data.enums.SortOrder;
 import cl.kanopus.common.enums.EnumIdentifiable;
-import cl.kanopus.common.util.GsonUtils;
 import cl.kanopus.common.util.Utils;
-import cl.kanopus.common.util.crypto.CryptographyUtils;
 import cl.kanopus.jdbc.DAOInterface;
 import cl.kanopus.jdbc.entity.Mapping;
 import cl.kanopus.jdbc.entity.annotation.Column;
@@ -36,29 +34,51 @@ import cl.kanopus.jdbc.entity.annotation.ColumnGroup;
 import cl.kanopus.jdbc.entity.annotation.JoinTable;
 import cl.kanopus.jdbc.entity.annotation.Table;
 import cl.kanopus.jdbc.entity.mapper.AbstractRowMapper;
+import cl.kanopus.jdbc.entity.mapper.FieldAccessor;
 import cl.kanopus.jdbc.exception.DataException;
 import cl.kanopus.jdbc.impl.engine.*;
+import cl.kanopus.jdbc.util.ColumnarResult;
+import cl.kanopus.jdbc.util.DmlStatements;
 import cl.kanopus.jdbc.util.JdbcCache;
 import cl.kanopus.jdbc.util.QueryIterator;
 import cl.kanopus.jdbc.util.SQLQueryDynamic;
-import cl.kanopus.jdbc.util.parser.*;
-import java.io.StringWriter;
-import java.lang.reflect.Field;
+import cl.kanopus.jdbc.util.SequenceAllocator;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.temporal.TemporalAccessor;
 import java.util.*;
-import org.postgresql.util.PGobject;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.core.simple.SimpleJdbcCall;
+import org.springframework.jdbc.core.support.AbstractSqlTypeValue;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.KeyHolder;
 
 /**
  * This abstract class defines methods for data access that are common, generally, all kinds of data access DAO must implement this class.Thus it is given safely access the Connection database. The JdbcTemplate property is kept private and gives access to the database through the methods implemented
@@ -73,13 +93,24 @@ public abstract class AbstractDAO<T extends Mapping, ID> implements DAOInterface
 
     protected static final Logger log = LoggerFactory.getLogger(AbstractDAO.class);
     private static final String UNASSIGNED = "[unassigned]";
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    // Oracle does not accept more than 1000 expressions into an IN list
+    private static final int DEFAULT_IN_SIZE = 1000;
+    private static final int DEFAULT_FETCH_SIZE = 1000;
 
     enum Operation {
         UPDATE,
-        PERSIST
+        PERSIST,
+        UPSERT
     }
 
     private final Class<T> genericTypeClass;
+    // an entity can be loaded by one DAO and updated by another, so the values are shared
+    private static final LoadedValues loadedValues = new LoadedValues();
+    // marks a value that can not be kept for dirty tracking, the column is always written
+    private static final Object UNTRACKED = new Object();
+    // the blocks belong to the database of this DAO, so they are not shared through a static cache
+    private final Map<String, SequenceAllocator> sequenceAllocators = new ConcurrentHashMap<>();
 
     protected AbstractDAO() {
         Type type = getClass().getGenericSuperclass();
@@ -89,8 +120,6 @@ public abstract class AbstractDAO<T extends Mapping, ID> implements DAOInterface
 
     protected abstract NamedParameterJdbcTemplate getJdbcTemplate();
 
-    private static final Charset DEFAULT_CHARSET = StandardCharsets.ISO_8859_1;
-
     protected abstract Engine getEngine();
 
     private String createSqlPagination2Engine(SQLQueryDynamic sqlQuery) {
@@ -102,6 +131,11 @@ public abstract class AbstractDAO<T extends Mapping, ID> implements DAOInterface
         }
     }
 
+    private String createSqlPaginationWithTotalCount2Engine(SQLQueryDynamic sqlQuery) {
+        String sql = getCustom().prepareSQL2Engine(sqlQuery.getSQLWithTotalCount());
+        return getCustom().createSqlPagination(sql, sqlQuery.getLimit(), sqlQuery.getOffset()).toString();
+    }
+
     private String createSqlPagination(String sql, int limit, int offset) {
         return getCustom().createSqlPagination(sql, limit, offset).toString();
     }
@@ -124,16 +158,63 @@ public abstract class AbstractDAO<T extends Mapping, ID> implements DAOInterface
             throw new DataException("It is necessary to specify the same amount keys to remove the entity: " + table.getClass().getCanonicalName());
         }
 
-        StringBuilder sql = new StringBuilder();
-        sql.append("DELETE FROM ").append(table.name()).append(" WHERE ");
         HashMap<String, Object> params = new HashMap<>();
         for (int i = 0; i < keys.length; i++) {
             params.put(table.keys()[i], keys[i]);
-            sql.append(i == 0 ? "" : " AND ");
-            sql.append(table.keys()[i]).append("=:").append(table.keys()[i]);
         }
 
-        return update(sql.toString(), params);
+        return update(JdbcCache.dmlStatements(clazz).getDelete().getSql(), params);
+    }
+
+    @Override
+    public int deleteByIds(Collection<ID> ids) throws DataException {
+        return deleteByIds(getGenericTypeClass(), ids);
+    }
+
+    /**
+     * Deletes the entities of the ids. With a single primary key the ids are sent in chunks of IN lists, with a composite key (each id is an array with the values of
+     * Table.keys()) the statements are sent in JDBC batches.
+     *
+     * @return the number of rows deleted, drivers that do not report the count of a batched statement (Oracle) are not included.
+     */
+    protected int deleteByIds(Class clazz, Collection<?> ids) throws DataException {
+        Table table = getTableName(clazz);
+        if (table.keys() == null || table.keys().length == 0) {
+            throw new DataException("It is necessary to specify the primary keys for the entity: " + table.getClass().getCanonicalName());
+        }
+
+        List<?> list = new ArrayList<>(ids);
+        int total = 0;
+        if (table.keys().length == 1) {
+            String key = table.keys()[0];
+            String sql = "DELETE FROM " + table.name() + " WHERE " + key + " IN (:" + key + ")";
+            for (int from = 0; from < list.size(); from += DEFAULT_IN_SIZE) {
+                HashMap<String, Object> params = new HashMap<>();
+                params.put(key, list.subList(from, Math.min(from + DEFAULT_IN_SIZE, list.size())));
+                total += update(sql, params);
+            }
+        } else {
+            String sql = JdbcCache.dmlStatements(clazz).getDelete().getSql();
+            for (int from = 0; from < list.size(); from += DEFAULT_BATCH_SIZE) {
+                List<?> chunk = list.subList(from, Math.min(from + DEFAULT_BATCH_SIZE, list.size()));
+                Map<String, ?>[] batch = new Map[chunk.size()];
+                for (int i = 0; i < batch.length; i++) {
+                    Object[] keys = isArray(chunk.get(i)) ? (Object[]) chunk.get(i) : new Object[]{chunk.get(i)};
+                    if (keys.length != table.keys().length) {
+                        throw new DataException("It is necessary to specify the same amount keys to remove the entity: " + table.getClass().getCanonicalName());
+                    }
+                    HashMap<String, Object> params = new HashMap<>();
+                    for (int k = 0; k < keys.length; k++) {
+                        params.put(table.keys()[k], keys[k]);
+                    }
+                    batch[i] = params;
+                }
+                for (int count : getJdbcTemplate().batchUpdate(sql, batch)) {
+                    total += Math.max(count, 0);
+                }
+            }
+        }
+        return total;
     }
 
     protected int delete(SQLQueryDynamic query) throws DataException {
@@ -228,6 +309,9 @@ public abstract class AbstractDAO<T extends Mapping, ID> implements DAOInterface
         if (!sqlQuery.isSorted()) {
             throw new DataException("It is necessary to specify a sort with identifier to be able to iterate over the records.");
         }
+        if (sqlQuery.isKeysetPagination()) {
+            return findKeysetIterator(sqlQuery, limit);
+        }
         return new QueryIterator<Map<String, Object>>(limit) {
 
             @Override
@@ -248,6 +332,207 @@ public abstract class AbstractDAO<T extends Mapping, ID> implements DAOInterface
         };
     }
 
+    /**
+     * Every page starts after the sort keys of the last row of the previous one instead of skipping {offset} rows, see SQLQueryDynamic.setEnableKeysetPagination.
+     */
+    private Iterator findKeysetIterator(SQLQueryDynamic sqlQuery, int limit) {
+        sqlQuery.setKeysetRowValueComparison(getEngine() == Engine.POSTGRES);
+        sqlQuery.setKeysetValues(null);
+        final int keys = sqlQuery.getKeysetColumnCount();
+        return new QueryIterator<Map<String, Object>>(limit) {
+
+            @Override
+            public List getData(int limit, int offset) {
+                sqlQuery.setLimit(limit);
+                sqlQuery.setOffset(0);
+                HashMap<String, Object> params = new HashMap<>(sqlQuery.getParams());
+                params.putAll(sqlQuery.getKeysetParams());
+
+                final Object[] last = new Object[keys];
+                List records;
+                if (sqlQuery.getClazz() != null) {
+                    final AbstractRowMapper mapper = rowMapper(sqlQuery.getClazz(), sqlQuery.isLoadAll());
+                    records = getJdbcTemplate().query(createSqlPagination2Engine(sqlQuery), params, new AbstractRowMapper() {
+                        @Override
+                        public Object mapRow(ResultSet rs, int rowNum) throws SQLException {
+                            for (int i = 0; i < keys; i++) {
+                                last[i] = rs.getObject(SQLQueryDynamic.KEYSET_COLUMN_PREFIX + i);
+                            }
+                            return mapper.mapRow(rs, rowNum);
+                        }
+                    });
+                } else {
+                    List<Map<String, Object>> maps = getJdbcTemplate().queryForList(createSqlPagination2Engine(sqlQuery), params);
+                    for (Map<String, Object> record : maps) {
+                        for (int i = 0; i < keys; i++) {
+                            last[i] = record.remove(SQLQueryDynamic.KEYSET_COLUMN_PREFIX + i);
+                        }
+                    }
+                    records = maps;
+                }
+
+                if (!records.isEmpty()) {
+                    sqlQuery.setKeysetValues(last);
+                }
+                sqlQuery.setTotalResultCount(sqlQuery.getTotalResultCount() + records.size());
+                return records;
+            }
+        };
+    }
+
+    protected Stream<T> stream(SQLQueryDynamic sqlQuery) throws DataException {
+        return (Stream<T>) stream(sqlQuery, sqlQuery.getClazz(), DEFAULT_FETCH_SIZE);
+    }
+
+    protected Stream<T> stream(SQLQueryDynamic sqlQuery, int fetchSize) throws DataException {
+        return (Stream<T>) stream(sqlQuery, sqlQuery.getClazz(), fetchSize);
+    }
+
+    /**
+     * Runs the query over one ResultSet and maps the rows while the stream is consumed, only {fetchSize} rows are kept in memory. PostgreSQL only uses a cursor inside
+     * a transaction, so the auto-commit is disabled until the stream is closed. The stream must be closed (try-with-resources) to release the connection, it is also
+     * released when the last row is read.
+     */
+    protected <I extends Mapping> Stream<I> stream(SQLQueryDynamic sqlQuery, Class<I> clazz, int fetchSize) throws DataException {
+        String sql = createSqlPagination2Engine(sqlQuery);
+        if (log.isDebugEnabled()) {
+            log.debug("sql:" + sql);
+            log.debug("params:" + sqlQuery.getParams());
+        }
+        ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+        MapSqlParameterSource source = new MapSqlParameterSource(sqlQuery.getParams());
+        // the factory expands the collection values of the parameters (IN lists) like the queries of NamedParameterJdbcTemplate
+        String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, source);
+        PreparedStatementCreatorFactory factory = new PreparedStatementCreatorFactory(sqlToUse, NamedParameterUtils.buildSqlParameterList(parsedSql, source));
+        factory.setResultSetType(ResultSet.TYPE_FORWARD_ONLY);
+        factory.setUpdatableResults(false);
+        PreparedStatementCreator creator = factory.newPreparedStatementCreator(NamedParameterUtils.buildValueArray(parsedSql, source, null));
+
+        DataSource dataSource = getJdbcTemplate().getJdbcTemplate().getDataSource();
+        Connection con = DataSourceUtils.getConnection(dataSource);
+        CursorResources resources = new CursorResources(con, dataSource);
+        try {
+            if (con.getAutoCommit()) {
+                con.setAutoCommit(false);
+                resources.restoreAutoCommit = true;
+            }
+            resources.statement = creator.createPreparedStatement(con);
+            resources.statement.setFetchSize(fetchSize);
+            resources.resultSet = resources.statement.executeQuery();
+        } catch (SQLException e) {
+            resources.close();
+            throw new DataException(e.getMessage(), e);
+        }
+
+        final AbstractRowMapper mapper = rowMapper(clazz, sqlQuery.isLoadAll());
+        Spliterator<I> spliterator = new Spliterators.AbstractSpliterator<I>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private int rowNum = 0;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super I> action) {
+                if (resources.closed) {
+                    return false;
+                }
+                try {
+                    if (!resources.resultSet.next()) {
+                        resources.close();
+                        return false;
+                    }
+                    action.accept((I) mapper.mapRow(resources.resultSet, rowNum++));
+                    return true;
+                } catch (SQLException e) {
+                    resources.close();
+                    throw new DataException(e.getMessage(), e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(resources::close);
+    }
+
+    protected void forEach(SQLQueryDynamic sqlQuery, Consumer<? super T> action) throws DataException {
+        forEach(sqlQuery, (Class<T>) sqlQuery.getClazz(), action);
+    }
+
+    /**
+     * Maps every row and gives it to the action as it is read, without building a List of the result. The rows held by the driver depend on its fetch size, on
+     * PostgreSQL outside a transaction use stream(SQLQueryDynamic) to read over a cursor.
+     */
+    protected <I extends Mapping> void forEach(SQLQueryDynamic sqlQuery, Class<I> clazz, Consumer<? super I> action) throws DataException {
+        if (log.isDebugEnabled()) {
+            log.debug("sql:" + sqlQuery.getSQL());
+            log.debug("params:" + sqlQuery.getParams());
+        }
+        final AbstractRowMapper mapper = rowMapper(clazz, sqlQuery.isLoadAll());
+        getJdbcTemplate().query(createSqlPagination2Engine(sqlQuery), sqlQuery.getParams(), new RowCallbackHandler() {
+            private int rowNum = 0;
+
+            @Override
+            public void processRow(ResultSet rs) throws SQLException {
+                action.accept((I) mapper.mapRow(rs, rowNum++));
+            }
+        });
+    }
+
+    protected void forEachBatch(SQLQueryDynamic sqlQuery, int batchSize, Consumer<List<T>> action) throws DataException {
+        forEachBatch(sqlQuery, (Class<T>) sqlQuery.getClazz(), batchSize, action);
+    }
+
+    /**
+     * Same as forEach, but the rows are given in lists of {batchSize} (the last one may be smaller), only one list is kept in memory at a time.
+     */
+    protected <I extends Mapping> void forEachBatch(SQLQueryDynamic sqlQuery, Class<I> clazz, int batchSize, Consumer<List<I>> action) throws DataException {
+        if (batchSize <= 0) {
+            throw new DataException("The batch size must be greater than 0");
+        }
+        final List<I>[] batch = new List[]{new ArrayList<>(batchSize)};
+        forEach(sqlQuery, clazz, (I object) -> {
+            batch[0].add(object);
+            if (batch[0].size() == batchSize) {
+                action.accept(batch[0]);
+                batch[0] = new ArrayList<>(batchSize);
+            }
+        });
+        if (!batch[0].isEmpty()) {
+            action.accept(batch[0]);
+        }
+    }
+
+    /**
+     * Statement and connection of an open stream, the auto-commit is restored before giving back the connection.
+     */
+    private static final class CursorResources {
+
+        private final Connection connection;
+        private final DataSource dataSource;
+        private PreparedStatement statement;
+        private ResultSet resultSet;
+        private boolean restoreAutoCommit;
+        private boolean closed;
+
+        private CursorResources(Connection connection, DataSource dataSource) {
+            this.connection = connection;
+            this.dataSource = dataSource;
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            JdbcUtils.closeResultSet(resultSet);
+            JdbcUtils.closeStatement(statement);
+            if (restoreAutoCommit) {
+                try {
+                    connection.commit();
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    log.warn("The auto-commit of the connection could not be restored: " + e.getMessage());
+                }
+            }
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
     protected List<T> find(String sql) throws DataException {
         List list;
         try {
@@ -313,6 +598,21 @@ public abstract class AbstractDAO<T extends Mapping, ID> implements DAOInterface
             log.debug("sql:" + sqlQuery.getSQL());
             log.debug("params:" + sqlQuery.getParams());
         }
+        if (sqlQuery.isTotalCountWithWindow()) {
+            final long[] total = {-1};
+            final AbstractRowMapper mapper = rowMapper(clazz, sqlQuery.isLoadAll());
+            List records = getJdbcTemplate().query(createSqlPaginationWithTotalCount2Engine(sqlQuery), sqlQuery.getParams(), new AbstractRowMapper() {
+                @Override
+                public Object mapRow(ResultSet rs, int rowNum) throws SQLException {
+                    if (total[0] < 0) {
+                        total[0] = rs.getLong(SQLQueryDynamic.TOTAL_COUNT_COLUMN);
+                    }
+                    return mapper.mapRow(rs, rowNum);
+                }
+            });
+            sqlQuery.setTotalResultCount(total[0] < 0 ? countWhenPageEmpty(sqlQuery) : total[0]);
+            return records;
+        }
         List records = getJdbcTemplate().query(createSqlPagination2Engine(sqlQuery), sqlQuery.getParams(), rowMapper(clazz, sqlQuery.isLoadAll()));
         if (sqlQuery.isLimited()) {
             long count = getJdbcTemplate().queryForObject(getCustom().prepareSQL2Engine(sqlQuery.getSQLCount()), sqlQuery.getParams(), Long.class);
@@ -323,6 +623,16 @@ public abstract class AbstractDAO<T extends Mapping, ID> implements DAOInterface
         return records;
     }
 
+    /**
+     * A page without rows does not carry the window total: it is 0 for the first page, otherwise the offset is beyond the last row and the count query is needed.
+     */
+    private long countWhenPageEmpty(SQLQueryDynamic sqlQuery) {
+        if (sqlQuery.getOffset() == 0) {
+            return 0;
+        }
+        return getJdbcTemplate().queryForObject(getCustom().prepareSQL2Engine(sqlQuery.getSQLCount()), sqlQuery.getParams(), Long.class);
+    }
+
     protected Paginator<T> findPaginator(SQLQueryDynamic sqlQuery) throws DataException {
         return (Paginator<T>) findPaginator(sqlQuery, sqlQuery.getClazz());
     }
@@ -338,6 +648,21 @@ public abstract class AbstractDAO<T extends Mapping, ID> implements DAOInterface
     protected Paginator<Map<String, Object>> findMaps(SQLQueryDynamic sqlQuery) throws DataException {
         Paginator paginator = new Paginator();
         try {
+            if (sqlQuery.isTotalCountWithWindow()) {
+                List<Map<String, Object>> records = getJdbcTemplate().queryForList(createSqlPaginationWithTotalCount2Engine(sqlQuery), sqlQuery.getParams());
+                long count = -1;
+                for (Map<String, Object> record : records) {
+                    // the row map is case insensitive, the alias may come in uppercase (Oracle, DB2)
+                    Object total = record.remove(SQLQueryDynamic.TOTAL_COUNT_COLUMN);
+                    if (count < 0 && total != null) {
+                        count = ((Number) total).longValue();
+                    }
+                }
+                sqlQuery.setTotalResultCount(count < 0 ? countWhenPageEmpty(sqlQuery) : count);
+                paginator.setRecords(records);
+                paginator.setTotalRecords(sqlQuery.getTotalResultCount());
+                return paginator;
+            }
             List records = getJdbcTemplate().queryForList(createSqlPagination2Engine(sqlQuery), sqlQuery.getParams());
             if (sqlQuery.isLimited()) {
                 long count = getJdbcTemplate().queryForObject(getCustom().prepareSQL2Engine(sqlQuery.getSQLCount()), sqlQuery.getParams(), Long.class);
@@ -355,6 +680,24 @@ public abstract class AbstractDAO<T extends Mapping, ID> implements DAOInterface
         return paginator;
     }
 
+    /**
+     * Runs the query and keeps the result by column, see {@link ColumnarResult}.
+     */
+    protected ColumnarResult findColumnar(SQLQueryDynamic sqlQuery) throws DataException {
+        ColumnarResult result = getJdbcTemplate().query(createSqlPagination2Engine(sqlQuery), sqlQuery.getParams(), ColumnarResult.extractor());
+        if (sqlQuery.isLimited()) {
+            long count = getJdbcTemplate().queryForObject(getCustom().prepareSQL2Engine(sqlQuery.getSQLCount()), sqlQuery.getParams(), Long.class);
+            sqlQuery.setTotalResultCount(count);
+        } else {
+            sqlQuery.setTotalResultCount(result.getRowCount());
+        }
+        return result;
+    }
+
+    protected ColumnarResult findColumnar(String sql, Map<String, ?> params) throws DataException {
+        return getJdbcTemplate().query(sql, params, ColumnarResult.extractor());
+    }
+
     protected List<Map<String, Object>> findMaps(String sql, Map<String, ?> params) throws DataException {
         List list;
         try {
@@ -409,23 +752,43 @@ public abstract class AbstractDAO<T extends Mapping, ID> implements DAOInterface
 
     @Override
     public long generateID() throws DataException {
-        Table table = getTableName(getGenericTypeClass());
-        String sequence = prepareSequence(table);
-        if (sequence == null) {
-            throw new DataException("It is necessary to specify the sequence related to the entity:");
-        }
-        String customSql = getCustom().createSqlNextval(sequence);
-        return queryForLong(customSql);
+        return generateAnyID(getGenericTypeClass());
     }
 
+    /**
+     * Returns the next value of the sequence of the entity. When the table declares an allocationSize greater than 1, the values are fetched in blocks and handed out from
+     * memory.
+     */
     protected long generateAnyID(Class<? extends Mapping> clazz) throws DataException {
         Table table = getTableName(clazz);
         String sequence = prepareSequence(table);
         if (sequence == null) {
             throw new DataException("It is necessary to specify the sequence related to the entity:");
         }
-        String customSql = getCustom().createSqlNextval(sequence);
-        return queryForLong(customSql);
+        if (table.allocationSize() <= 1) {
+            String customSql = getCustom().createSqlNextval(sequence);
+            return queryForLong(customSql);
+        }
+        return sequenceAllocators.computeIfAbsent(sequence, k -> new SequenceAllocator(table.allocationSize(), size -> fetchSequenceBlock(sequence, size))).next();
+    }
+
+    private long[] fetchSequenceBlock(String sequence, int size) {
+        String customSql = getCustom().createSqlNextvalBlock(sequence, size);
+        List<Long> values;
+        if (customSql != null) {
+            values = getJdbcTemplate().getJdbcOperations().query(customSql, (rs, rowNum) -> rs.getLong(1));
+        } else {
+            values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(getJdbcTemplate().getJdbcOperations().queryForObject(getCustom().createSqlNextval(sequence), Long.class));
+            }
+        }
+        long[] block = new long[values.size()];
+        for (int i = 0; i < block.length; i++) {
+            block[i] = values.get(i);
+        }
+        Arrays.sort(block);
+        return block;
     }
 
     private String prepareSequence(Table table) {
@@ -436,15 +799,38 @@ public abstract class AbstractDAO<T extends Mapping, ID> implements DAOInterface
         return (property == null || UNASSIGNED.equals(property));
     }
 
+    /**
+     * Checks if the query has rows with an EXISTS probe, the database stops at the first matching row instead of counting all of them.
+     */
     protected boolean exists(SQLQueryDynamic query) throws DataException {
-        int count = queryForInteger(query.getSQLCount(), query.getParams());
+        String sql = getCustom().createSqlExists(getCustom().prepareSQL2Engine(query.getSQLExists()));
+        int count = queryForInteger(sql, query.getParams());
         return (count > 0);
     }
 
+    /**
+     * Checks if the entity exists reading only the primary key of its table, without the joins and without mapping the entity.
+     */
     @Override
     public boolean existsById(ID id) throws DataException {
-        Mapping obj = getById(getGenericTypeClass(), Boolean.FALSE, new Object[]{id});
-        return obj != null;
+        Table table = getTableName(getGenericTypeClass());
+        Object[] keys = isArray(id) ? (Object[]) id : new Object[]{id};
+        if (table.keys() == null || table.keys().length == 0) {
+            throw new DataException("It is necessary to specify the primary keys for the entity: " + table.getClass().getCanonicalName());
+        }
+        if (table.keys().length != keys.length) {
+            throw new DataException("It is necessary to specify the same keys to identify the entity: " + table.getClass().getCanonicalName());
+        }
+
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT 1 FROM ").append(table.name()).append(" WHERE ");
+        HashMap<String, Object> params = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            params.put(table.keys()[i], keys[i]);
+            sql.append(i == 0 ? "" : " AND ");
+            sql.append(table.keys()[i]).append("=:").append(table.keys()[i]);
+        }
+        return queryForInteger(getCustom().createSqlExists(sql.toString()), params) > 0;
     }
 
     @Override
@@ -491,6 +877,140 @@ public abstract class AbstractDAO<T extends Mapping, ID> implements DAOInterface
         return (T) queryForObject(sql.toString(), params, rowMapper(clazz, loadAll));
     }
 
+    @Override
+    public Map<ID, T> findByIds(Collection<ID> ids) throws DataException {
+        return (Map<ID, T>) findByIds(getGenericTypeClass(), ids);
+    }
+
+    /**
+     * Loads the entities of the ids with a few queries instead of one query per id. A single key uses chunks of IN lists or, on PostgreSQL, a single "= ANY" array
+     * parameter. A composite key (each id is an array with the values of Table.keys()) uses row values, or OR of AND predicates on SQL Server.
+     *
+     * @return the entities found, keyed by the requested id in the order of the collection.
+     */
+    protected <I, E extends Mapping> Map<I, E> findByIds(Class<E> clazz, Collection<I> ids) throws DataException {
+        Table table = getTableName(clazz);
+        if (table.keys() == null || table.keys().length == 0) {
+            throw new DataException("It is necessary to specify the primary keys for the entity: " + table.getClass().getCanonicalName());
+        }
+
+        String[] keys = table.keys();
+        List<I> list = new ArrayList<>(new LinkedHashSet<>(ids));
+        String sqlBase = JdbcCache.sqlBase(clazz, true).getSql();
+        Map<Object, E> found = new HashMap<>();
+        if (keys.length == 1 && getEngine() == Engine.POSTGRES && !list.isEmpty() && postgresArrayType(list.get(0)) != null) {
+            HashMap<String, Object> params = new HashMap<>();
+            params.put(keys[0], postgresArray(postgresArrayType(list.get(0)), list.toArray()));
+            collectByKey(table, getJdbcTemplate().query(sqlBase + " WHERE " + keys[0] + " = ANY(:" + keys[0] + ")", params, rowMapper(clazz, false)), found);
+        } else {
+            int chunkSize = Math.max(1, DEFAULT_IN_SIZE / keys.length);
+            for (int from = 0; from < list.size(); from += chunkSize) {
+                List<I> chunk = list.subList(from, Math.min(from + chunkSize, list.size()));
+                HashMap<String, Object> params = new HashMap<>();
+                StringBuilder sql = new StringBuilder(sqlBase).append(" WHERE ");
+                if (keys.length == 1) {
+                    sql.append(keys[0]).append(" IN (:").append(keys[0]).append(")");
+                    params.put(keys[0], chunk);
+                } else {
+                    appendCompositeKeys(sql, params, keys, chunk);
+                }
+                collectByKey(table, getJdbcTemplate().query(sql.toString(), params, rowMapper(clazz, false)), found);
+            }
+        }
+
+        Map<I, E> result = new LinkedHashMap<>();
+        for (I id : list) {
+            E entity = found.get(normalizeKey(isArray(id) ? (Object[]) id : new Object[]{id}));
+            if (entity != null) {
+                result.put(id, entity);
+            }
+        }
+        return result;
+    }
+
+    private void appendCompositeKeys(StringBuilder sql, HashMap<String, Object> params, String[] keys, List<?> ids) {
+        // SQL Server does not support row values in an IN list
+        boolean rowValues = getEngine() != Engine.SQLSERVER;
+        if (rowValues) {
+            sql.append("(").append(String.join(",", keys)).append(") IN (");
+        } else {
+            sql.append("(");
+        }
+        for (int row = 0; row < ids.size(); row++) {
+            Object[] values = isArray(ids.get(row)) ? (Object[]) ids.get(row) : new Object[]{ids.get(row)};
+            if (values.length != keys.length) {
+                throw new DataException("It is necessary to specify the same keys to identify the entity: " + Arrays.toString(keys));
+            }
+            sql.append(row == 0 ? "(" : rowValues ? ",(" : " OR (");
+            for (int k = 0; k < keys.length; k++) {
+                String name = keys[k] + "_" + row;
+                params.put(name, values[k]);
+                if (rowValues) {
+                    sql.append(k == 0 ? ":" : ",:").append(name);
+                } else {
+                    sql.append(k == 0 ? "" : " AND ").append(keys[k]).append("=:").append(name);
+                }
+            }
+            sql.append(")");
+        }
+        sql.append(")");
+    }
+
+    private <E extends Mapping> void collectByKey(Table table, List<E> entities, Map<Object, E> found) {
+        for (E entity : entities) {
+            Object[] values = new Object[table.keys().length];
+            for (FieldAccessor field : JdbcCache.accessor(entity.getClass()).getFields()) {
+                for (int k = 0; k < values.length; k++) {
+                    if (field.getColumn() != null && field.getColumn().name().equals(table.keys()[k])) {
+                        values[k] = field.getConverter().write(field.get(entity));
+                    } else if (field.getJoinTable() != null && field.getJoinTable().foreignKey().equals(table.keys()[k]) && field.get(entity) != null) {
+                        values[k] = extractPrimaryKey(field.get(entity));
+                    }
+                }
+            }
+            found.put(normalizeKey(values), entity);
+        }
+    }
+
+    /**
+     * Key of the lookup of findByIds, the values read from the entity and the requested ids can have different numeric types (int and long) or be an enum and its id.
+     */
+    private Object normalizeKey(Object[] values) {
+        List<Object> key = new ArrayList<>(values.length);
+        for (Object value : values) {
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                key.add(((Number) value).longValue());
+            } else if (value instanceof EnumIdentifiable) {
+                key.add(((EnumIdentifiable) value).getId());
+            } else {
+                key.add(value);
+            }
+        }
+        return key;
+    }
+
+    private static String postgresArrayType(Object id) {
+        if (id instanceof Long) {
+            return "int8";
+        } else if (id instanceof Integer) {
+            return "int4";
+        } else if (id instanceof String) {
+            return "text";
+        } else if (id instanceof UUID) {
+            return "uuid";
+        }
+        return null;
+    }
+
+    private static AbstractSqlTypeValue postgresArray(String type, Object[] values) {
+        return new AbstractSqlTypeValue() {
+            @Override
+            protected Object createTypeValue(Connection con, int sqlType, String typeName) throws SQLException {
+                return con.createArrayOf(type, values);
+            }
+        };
+    }
+
     private Class<T> getGenericTypeClass() {
         return genericTypeClass;
     }
@@ -503,29 +1023,496 @@ public abstract class AbstractDAO<T extends Mapping, ID> implements DAOInterface
 
     protected void persistAny(Mapping object) throws DataException {
 
-        Table table = getTableName(object.getClass());
+        getTableName(object.getClass());
         HashMap<String, Object> params = prepareParams(Operation.PERSIST, object);
 
-        StringBuilder sql = new StringBuilder();
-        sql.append("INSERT INTO ").append(table.name());
-        sql.append("(");
-        boolean firstElement = true;
-        for (String key : params.keySet()) {
-            sql.append(!firstElement ? "," : "");
-            sql.append(key);
-            firstElement = false;
-        }
-        sql.append(") VALUES");
-        sql.append("(");
-        firstElement = true;
-        for (String key : params.keySet()) {
-            sql.append(!firstElement ? "," : "");
-            sql.append(":").append(key);
-            firstElement = false;
+        DmlStatements.Statement statement = bindStatement(Operation.PERSIST, object, params);
+        if (isSerialGenerated(object, statement)) {
+            insertReturningKeys(object, statement.getSql(), params);
+        } else {
+            update(statement.getSql(), params);
         }
-        sql.append(")");
+    }
+
+    private boolean isSerialGenerated(Mapping object, DmlStatements.Statement statement) {
+        return JdbcCache.dmlStatements(object.getClass()).isSerialOmitted(statement);
+    }
+
+    /**
+     * Inserts the object and sets the values generated by the database into its serial fields in the same round trip. PostgreSQL and SQL Server read them from the
+     * statement (RETURNING / OUTPUT INSERTED), Oracle and DB2 through the generated keys of the JDBC driver.
+     */
+    private void insertReturningKeys(Mapping object, String sql, HashMap<String, Object> params) {
+        List<String> serialColumns = JdbcCache.dmlStatements(object.getClass()).getSerialColumns();
+        String returningSql = getCustom().createSqlInsertReturning(sql, serialColumns);
+        if (log.isDebugEnabled()) {
+            log.debug("sql:" + (returningSql != null ? returningSql : sql));
+        }
+
+        Map<String, Object> keys;
+        if (returningSql != null) {
+            keys = getJdbcTemplate().query(returningSql, params, (ResultSetExtractor<Map<String, Object>>) rs -> {
+                Map<String, Object> values = new HashMap<>();
+                if (rs.next()) {
+                    for (int i = 0; i < serialColumns.size(); i++) {
+                        values.put(serialColumns.get(i), rs.getObject(i + 1));
+                    }
+                }
+                return values;
+            });
+        } else {
+            KeyHolder holder = new GeneratedKeyHolder();
+            getJdbcTemplate().update(sql, new MapSqlParameterSource(params), holder, serialColumns.toArray(new String[0]));
+            keys = holder.getKeys();
+        }
+        assignSerialValues(object, keys);
+    }
+
+    /**
+     * Returns false to send a batch that has to return the serial keys without returning them, when the engine can not return them in a batch (Oracle and DB2 without a
+     * sequence declared in the Table). By default the objects are then inserted one by one so their keys are set.
+     */
+    protected boolean isBatchKeysRowByRow() {
+        return true;
+    }
+
+    /**
+     * Inserts a batch of objects without value in their serial keys and sets the generated keys into the objects. PostgreSQL returns the generated keys of a JDBC batch,
+     * SQL Server inserts the rows with multi-row statements that return the index of each row with its keys, Oracle and DB2 take the keys from the sequence of the Table
+     * before the batch. Otherwise the objects are inserted one by one, see {@link #isBatchKeysRowByRow()}.
+     */
+    private int[] batchInsertReturningKeys(DmlStatements.Statement statement, List<? extends Mapping> objects, List<Map<String, Object>> rows) {
+        Class<? extends Mapping> clazz = objects.get(0).getClass();
+        DmlStatements dml = JdbcCache.dmlStatements(clazz);
+        List<String> serialColumns = dml.getSerialColumns();
+        if (getEngine() != Engine.POSTGRES) {
+            if (dml.getInsertRowsReturning(getCustom(), statement, 1) != null) {
+                return insertRowsReturningKeys(dml, statement, objects, rows);
+            }
+            Table table = getTableName(clazz);
+            if (serialColumns.size() == 1 && !isNullOrUnassigned(table.sequence())) {
+                long[] ids = nextSequenceValues(clazz, table, objects.size());
+                for (int i = 0; i < objects.size(); i++) {
+                    Map<String, Object> keys = Collections.singletonMap(serialColumns.get(0), ids[i]);
+                    rows.get(i).putAll(keys);
+                    assignSerialValues(objects.get(i), keys);
+                }
+                return batchUpdate(dml.getInsert(rows.get(0).keySet()).getSql(), rows);
+            } else if (isBatchKeysRowByRow()) {
+                int[] counts = new int[objects.size()];
+                for (int i = 0; i < objects.size(); i++) {
+                    insertReturningKeys(objects.get(i), statement.getSql(), (HashMap<String, Object>) rows.get(i));
+                    counts[i] = 1;
+                }
+                return counts;
+            }
+            return batchUpdate(statement.getSql(), rows);
+        }
+
+        ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(statement.getSql());
+        String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, new MapSqlParameterSource(rows.get(0)));
+        return getJdbcTemplate().getJdbcOperations().execute((ConnectionCallback<int[]>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(sqlToUse, serialColumns.toArray(new String[0]))) {
+                for (Map<String, Object> row : rows) {
+                    new ArgumentPreparedStatementSetter(NamedParameterUtils.buildValueArray(parsedSql, new MapSqlParameterSource(row), null)).setValues(ps);
+                    ps.addBatch();
+                }
+                int[] result = ps.executeBatch();
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    for (int i = 0; i < objects.size() && rs.next(); i++) {
+                        Map<String, Object> keys = new HashMap<>();
+                        for (int k = 0; k < serialColumns.size(); k++) {
+                            keys.put(serialColumns.get(k), rs.getObject(k + 1));
+                        }
+                        assignSerialValues(objects.get(i), keys);
+                    }
+                }
+                return result;
+            }
+        });
+    }
+
+    private int[] insertRowsReturningKeys(DmlStatements dml, DmlStatements.Statement statement, List<? extends Mapping> objects, List<Map<String, Object>> rows) {
+        List<String> serialColumns = dml.getSerialColumns();
+        int[] counts = new int[objects.size()];
+        int max = maxInsertRows(statement);
+        int from = 0;
+        while (from < objects.size()) {
+            // full statements and then power of two sizes, like persistAllMultiRow
+            int size = objects.size() - from >= max ? max : Integer.highestOneBit(objects.size() - from);
+            List<Map<String, Object>> chunk = rows.subList(from, from + size);
+            DmlStatements.Statement multiRow = dml.getInsertRowsReturning(getCustom(), statement, size);
+            if (log.isDebugEnabled()) {
+                log.debug("sql:" + multiRow.getSql());
+            }
+            final int offset = from;
+            // the first column is the index of the row in the statement, the order of the result is not guaranteed
+            getJdbcTemplate().query(multiRow.getSql(), multiRowParams(multiRow, chunk), (RowCallbackHandler) rs -> {
+                int index = offset + rs.getInt(1);
+                Map<String, Object> values = new HashMap<>();
+                for (int k = 0; k < serialColumns.size(); k++) {
+                    values.put(serialColumns.get(k), rs.getObject(k + 2));
+                }
+                assignSerialValues(objects.get(index), values);
+                counts[index] = 1;
+            });
+            from += size;
+        }
+        return counts;
+    }
+
+    private long[] nextSequenceValues(Class<? extends Mapping> clazz, Table table, int size) {
+        if (table.allocationSize() > 1) {
+            long[] ids = new long[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = generateAnyID(clazz);
+            }
+            return ids;
+        }
+        return fetchSequenceBlock(table.sequence(), size);
+    }
+
+    private int[] batchUpdate(String sql, List<Map<String, Object>> rows) {
+        if (log.isDebugEnabled()) {
+            log.debug("sql:" + sql);
+            log.debug("batch:" + rows.size());
+        }
+        return getJdbcTemplate().batchUpdate(sql, rows.toArray(new Map[0]));
+    }
+
+    private void assignSerialValues(Object object, Map<String, Object> keys) {
+        if (object == null || keys == null) {
+            return;
+        }
+        for (FieldAccessor field : JdbcCache.accessor(object.getClass()).getFields()) {
+            Column column = field.getColumn();
+            if (column != null && column.serial()) {
+                for (Map.Entry<String, Object> key : keys.entrySet()) {
+                    // some drivers return the names of the keys in upper case
+                    if (key.getKey().equalsIgnoreCase(column.name()) && key.getValue() != null) {
+                        field.set(object, toFieldType(field.getType(), key.getValue()));
+                    }
+                }
+            } else if (column == null && field.getColumnGroup() != null) {
+                assignSerialValues(field.get(object), keys);
+            }
+        }
+    }
+
+    private Object toFieldType(Class<?> type, Object value) {
+        if (value instanceof Number) {
+            Number number = (Number) value;
+            if (type == long.class || type == Long.class) {
+                return number.longValue();
+            } else if (type == int.class || type == Integer.class) {
+                return number.intValue();
+            } else if (type == String.class) {
+                return number.toString();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Chooses the cached statement of the entity for the columns with value. The columns of a join table that was not loaded or of a null column group are not sent, so
+     * the row keeps its value on UPDATE and the column default applies on INSERT.
+     *
+     * @return null when an UPDATE has no column to set.
+     */
+    private DmlStatements.Statement bindStatement(Operation operation, Mapping object, HashMap<String, Object> params) {
+        DmlStatements dml = JdbcCache.dmlStatements(object.getClass());
+        DmlStatements.Statement statement;
+        if (operation == Operation.UPDATE) {
+            // only the columns with value are updated, with dirty tracking only the ones that changed since the entity was loaded
+            Collection<String> columns = params.keySet();
+            Map<String, Object> loaded = loadedValues.get(object);
+            if (loaded != null) {
+                Map<String, Object> current = trackedValues(object);
+                columns = new HashSet<>();
+                for (String column : params.keySet()) {
+                    Object value = current.get(column);
+                    if (!loaded.containsKey(column) || value == UNTRACKED || !Objects.deepEquals(value, loaded.get(column))) {
+                        columns.add(column);
+                    }
+                }
+            }
+            statement = dml.getUpdate(columns);
+            if (statement == null) {
+                return null;
+            }
+        } else {
+            statement = dml.getInsert(params.keySet());
+            // without the serial value the row can not exist yet, so an upsert is a plain insert
+            if (operation == Operation.UPSERT && !dml.isSerialOmitted(statement)) {
+                statement = dml.getUpsert(getCustom(), params.keySet());
+            }
+        }
+        return statement;
+    }
+
+    @Override
+    public int[] persistAll(Collection<T> objects) throws DataException {
+        return persistAll(objects, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Inserts the objects using JDBC batches of at most {chunkSize} rows. Objects with and without a value in the serial key use a different INSERT statement, so they are
+     * sent in separate batches.
+     *
+     * @return the update count of each object, in the same order of the collection. Some drivers (Oracle) return {@link java.sql.Statement#SUCCESS_NO_INFO} instead of the
+     *         number of rows.
+     */
+    @Override
+    public int[] persistAll(Collection<T> objects, int chunkSize) throws DataException {
+        return persistAllAny(new ArrayList<>(objects), chunkSize);
+    }
+
+    protected int[] persistAllAny(List<? extends Mapping> objects, int chunkSize) throws DataException {
+        return batchAny(Operation.PERSIST, objects, chunkSize);
+    }
+
+    /**
+     * Inserts the objects packing several rows into each INSERT statement (INSERT ... VALUES (...), (...)), useful when the driver sends every statement of a JDBC batch
+     * in a separate round trip. The number of rows of a statement respects the limit of parameters of the engine. The serial keys generated by the database are not set
+     * into the objects, use generateID (or an allocationSize in the Table) when they are needed.
+     *
+     * @return the number of rows inserted.
+     */
+    @Override
+    public int persistAllMultiRow(Collection<T> objects) throws DataException {
+        return persistAllMultiRowAny(new ArrayList<>(objects));
+    }
+
+    protected int persistAllMultiRowAny(List<? extends Mapping> objects) throws DataException {
+        // rows are buffered by statement and sent every time a buffer reaches the rows of a full statement
+        Map<DmlStatements.Statement, List<Map<String, Object>>> buffers = new LinkedHashMap<>();
+        Map<DmlStatements.Statement, Class<? extends Mapping>> classes = new HashMap<>();
+        int total = 0;
+        for (Mapping object : objects) {
+            getTableName(object.getClass());
+            HashMap<String, Object> params = prepareParams(Operation.PERSIST, object);
+            DmlStatements.Statement statement = bindStatement(Operation.PERSIST, object, params);
+            List<Map<String, Object>> buffer = buffers.computeIfAbsent(statement, k -> new ArrayList<>());
+            classes.putIfAbsent(statement, object.getClass());
+            buffer.add(params);
+            if (buffer.size() == maxInsertRows(statement)) {
+                total += insertRows(classes.get(statement), statement, buffer);
+                buffer.clear();
+            }
+        }
+
+        for (Map.Entry<DmlStatements.Statement, List<Map<String, Object>>> buffer : buffers.entrySet()) {
+            List<Map<String, Object>> rows = buffer.getValue();
+            // the trailing rows are sent in statements of power of two sizes, so only a few shapes of statement are created
+            int from = 0;
+            while (from < rows.size()) {
+                int size = Integer.highestOneBit(rows.size() - from);
+                total += insertRows(classes.get(buffer.getKey()), buffer.getKey(), rows.subList(from, from + size));
+                from += size;
+            }
+        }
+        return total;
+    }
+
+    private int maxInsertRows(DmlStatements.Statement statement) {
+        return Math.min(DEFAULT_BATCH_SIZE, getCustom().getMaxInsertRows(statement.getParameters().size()));
+    }
+
+    private int insertRows(Class<? extends Mapping> clazz, DmlStatements.Statement statement, List<Map<String, Object>> rows) {
+        DmlStatements dml = JdbcCache.dmlStatements(clazz);
+        DmlStatements.Statement multiRow = dml.getInsertRows(getCustom(), statement, rows.size());
+
+        return update(multiRow.getSql(), multiRowParams(multiRow, rows));
+    }
+
+    private HashMap<String, Object> multiRowParams(DmlStatements.Statement multiRow, List<Map<String, Object>> rows) {
+        HashMap<String, Object> params = new HashMap<>();
+        for (int row = 0; row < rows.size(); row++) {
+            for (String parameter : multiRow.getParameters()) {
+                params.put(parameter + "_" + row, rows.get(row).get(parameter));
+            }
+        }
+        return params;
+    }
+
+    /**
+     * Bulk load of the objects. With PostgreSQL the rows are streamed through "COPY ... FROM STDIN" while the iterable is consumed, so they are never kept in memory. All
+     * the objects must have the same class and all of them must (or must not) have a value in the serial key. COPY uses one list of columns for all the rows, so the
+     * columns of a join table or a column group without value are written as NULL instead of taking the column default. Other engines insert the objects with JDBC
+     * batches.
+     *
+     * @return the number of rows inserted.
+     */
+    @Override
+    public long copyAll(Iterable<T> objects) throws DataException {
+        return copyAllAny(objects);
+    }
+
+    protected long copyAllAny(Iterable<? extends Mapping> objects) throws DataException {
+        Iterator<? extends Mapping> iterator = objects.iterator();
+        if (getEngine() != Engine.POSTGRES) {
+            long total = 0;
+            List<Mapping> chunk = new ArrayList<>(DEFAULT_BATCH_SIZE);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == DEFAULT_BATCH_SIZE || !iterator.hasNext()) {
+                    persistAllAny(chunk, DEFAULT_BATCH_SIZE);
+                    total += chunk.size();
+                    chunk.clear();
+                }
+            }
+            return total;
+        }
+
+        if (!iterator.hasNext()) {
+            return 0;
+        }
+        Mapping first = iterator.next();
+        Table table = getTableName(first.getClass());
+        HashMap<String, Object> firstParams = prepareParams(Operation.PERSIST, first);
+        DmlStatements.Statement statement = copyStatement(first, firstParams);
+        String sql = "COPY " + table.name() + "(" + String.join(",", statement.getParameters()) + ") FROM STDIN";
+        if (log.isDebugEnabled()) {
+            log.debug("sql:" + sql);
+        }
+
+        return getJdbcTemplate().getJdbcOperations().execute((ConnectionCallback<Long>) con -> {
+            PostgresCopyWriter writer = new PostgresCopyWriter(con.unwrap(PGConnection.class).getCopyAPI().copyIn(sql));
+            try {
+                writer.writeRow(copyValues(statement, firstParams));
+                while (iterator.hasNext()) {
+                    Mapping object = iterator.next();
+                    HashMap<String, Object> params = prepareParams(Operation.PERSIST, object);
+                    if (copyStatement(object, params) != statement) {
+                        throw new DataException("All the objects of a copy must have the same class and the same use of the serial key: " + object.getClass().getCanonicalName());
+                    }
+                    writer.writeRow(copyValues(statement, params));
+                }
+                return writer.finish();
+            } catch (RuntimeException | SQLException ex) {
+                writer.cancel();
+                throw ex;
+            }
+        });
+    }
+
+    private DmlStatements.Statement copyStatement(Mapping object, Map<String, Object> params) {
+        DmlStatements dml = JdbcCache.dmlStatements(object.getClass());
+        return dml.getInsert(!dml.isSerialOmitted(dml.getInsert(params.keySet())));
+    }
+
+    private List<Object> copyValues(DmlStatements.Statement statement, Map<String, Object> params) {
+        List<Object> values = new ArrayList<>(statement.getParameters().size());
+        for (String parameter : statement.getParameters()) {
+            values.add(params.get(parameter));
+        }
+        return values;
+    }
+
+    /**
+     * Inserts the object or, when a row with the same keys already exists, updates it, using a single native statement of the engine (INSERT ... ON CONFLICT on
+     * PostgreSQL, MERGE on the others).
+     */
+    @Override
+    public T upsert(T object) throws DataException {
+        upsertAny(object);
+        return object;
+    }
+
+    protected void upsertAny(Mapping object) throws DataException {
+        Table table = getTableName(object.getClass());
+        if (table.keys() == null || table.keys().length == 0) {
+            throw new DataException("It is necessary to specify the primary keys for the entity: " + table.getClass().getCanonicalName());
+        }
+
+        HashMap<String, Object> params = prepareParams(Operation.UPSERT, object);
+        DmlStatements.Statement statement = bindStatement(Operation.UPSERT, object, params);
+        if (isSerialGenerated(object, statement)) {
+            insertReturningKeys(object, statement.getSql(), params);
+        } else {
+            update(statement.getSql(), params);
+        }
+    }
+
+    @Override
+    public int[] upsertAll(Collection<T> objects) throws DataException {
+        return upsertAll(objects, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Upserts the objects using JDBC batches of at most {chunkSize} rows, see {@link #upsert(Mapping)}.
+     */
+    @Override
+    public int[] upsertAll(Collection<T> objects, int chunkSize) throws DataException {
+        for (T object : objects) {
+            Table table = getTableName(object.getClass());
+            if (table.keys() == null || table.keys().length == 0) {
+                throw new DataException("It is necessary to specify the primary keys for the entity: " + table.getClass().getCanonicalName());
+            }
+        }
+        return batchAny(Operation.UPSERT, new ArrayList<>(objects), chunkSize);
+    }
+
+    private int[] batchAny(Operation operation, List<? extends Mapping> objects, int chunkSize) throws DataException {
+        if (chunkSize <= 0) {
+            throw new DataException("The chunk size must be greater than zero");
+        }
+        int[] counts = new int[objects.size()];
+        for (int from = 0; from < objects.size(); from += chunkSize) {
+            List<? extends Mapping> chunk = objects.subList(from, Math.min(from + chunkSize, objects.size()));
+
+            // rows are grouped by their statement, each group is a single batch
+            Map<DmlStatements.Statement, List<Integer>> groups = new LinkedHashMap<>();
+            List<Map<String, Object>> rows = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                getTableName(chunk.get(i).getClass());
+                HashMap<String, Object> params = prepareParams(operation, chunk.get(i));
+                rows.add(params);
+                DmlStatements.Statement statement = bindStatement(operation, chunk.get(i), params);
+                if (statement != null) {
+                    groups.computeIfAbsent(statement, k -> new ArrayList<>()).add(i);
+                }
+            }
+
+            for (Map.Entry<DmlStatements.Statement, List<Integer>> group : groups.entrySet()) {
+                String sql = group.getKey().getSql();
+                Mapping first = chunk.get(group.getValue().get(0));
+                if (operation != Operation.UPDATE && isSerialGenerated(first, group.getKey())) {
+                    List<Mapping> groupObjects = new ArrayList<>(group.getValue().size());
+                    List<Map<String, Object>> groupRows = new ArrayList<>(group.getValue().size());
+                    for (Integer index : group.getValue()) {
+                        groupObjects.add(chunk.get(index));
+                        groupRows.add(rows.get(index));
+                    }
+                    int[] result = batchInsertReturningKeys(group.getKey(), groupObjects, groupRows);
+                    for (int i = 0; i < result.length; i++) {
+                        counts[from + group.getValue().get(i)] = result[i];
+                    }
+                    continue;
+                }
+                Map<String, ?>[] batch = new Map[group.getValue().size()];
+                for (int i = 0; i < batch.length; i++) {
+                    batch[i] = rows.get(group.getValue().get(i));
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("sql:" + sql);
+                    log.debug("batch:" + batch.length);
+                }
+                int[] result = getJdbcTemplate().batchUpdate(sql, batch);
+                for (int i = 0; i < result.length; i++) {
+                    counts[from + group.getValue().get(i)] = result[i];
+                }
+            }
 
-        update(sql.toString(), params);
+            if (operation == Operation.UPDATE) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    if (loadedValues.get(chunk.get(i)) != null) {
+                        loadedValues.put(chunk.get(i), trackedValues(chunk.get(i)));
+                    }
+                }
+            }
+        }
+        return counts;
     }
 
     protected String queryForString(String sql, HashMap<String, ?> params) throws DataException {
@@ -622,11 +1609,23 @@ public abstract class AbstractDAO<T extends Mapping, ID> implements DAOInterface
     }
 
     private AbstractRowMapper rowMapper(final Class clazz) {
-        return JdbcCache.rowMapper(clazz, false);
+        return rowMapper(clazz, false);
     }
 
     private AbstractRowMapper rowMapper(final Class clazz, boolean loadAll) {
-        return JdbcCache.rowMapper(clazz, loadAll);
+        AbstractRowMapper mapper = JdbcCache.rowMapper(clazz, loadAll);
+        Table table = (Table) clazz.getAnnotation(Table.class);
+        if (table == null || !table.dirtyTracking()) {
+            return mapper;
+        }
+        return new AbstractRowMapper() {
+            @Override
+            public Object mapRow(ResultSet rs, int rowNum) throws SQLException {
+                Object object = mapper.mapRow(rs, rowNum);
+                loadedValues.put(object, trackedValues(object));
+                return object;
+            }
+        };
     }
 
     protected int update(String sql, HashMap<String, ?> params) throws DataException {
@@ -648,32 +1647,40 @@ public abstract class AbstractDAO<T extends Mapping, ID> implements DAOInterface
             throw new DataException("It is necessary to specify the primary keys for the entity: " + table.getClass().getCanonicalName());
         }
 
-        List<String> primaryKeys = Arrays.asList(table.keys());
         HashMap<String, Object> params = prepareParams(Operation.UPDATE, object);
-        StringBuilder sql = new StringBuilder();
-        sql.append("UPDATE ").append(table.name());
-        sql.append(" SET ");
-        boolean firstElement = true;
-        for (String key : params.keySet()) {
-            if (primaryKeys.contains(key)) {
-                continue;
-            }
-            sql.append(!firstElement ? "," : "");
-            sql.append(key).append("=:").append(key);
-            firstElement = false;
-        }
-        sql.append(" WHERE ");
-
-        firstElement = true;
-        for (String key : primaryKeys) {
-            sql.append(!firstElement ? " AND " : "");
-            sql.append(key).append("=:").append(key);
-            firstElement = false;
-        }
-        update(sql.toString(), params);
+        DmlStatements.Statement statement = bindStatement(Operation.UPDATE, object, params);
+        if (statement != null) {
+            update(statement.getSql(), params);
+        }
+        if (loadedValues.get(object) != null) {
+            loadedValues.put(object, trackedValues(object));
+        }
         return object;
     }
 
+    @Override
+    public int[] updateAll(Collection<T> objects) throws DataException {
+        return updateAll(objects, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Updates the objects using JDBC batches of at most {chunkSize} rows, see {@link #persistAll(Collection, int)}.
+     */
+    @Override
+    public int[] updateAll(Collection<T> objects, int chunkSize) throws DataException {
+        return updateAllAny(new ArrayList<>(objects), chunkSize);
+    }
+
+    protected int[] updateAllAny(List<? extends Mapping> objects, int chunkSize) throws DataException {
+        for (Mapping object : objects) {
+            Table table = getTableName(object.getClass());
+            if (table.keys() == null || table.keys().length == 0) {
+                throw new DataException("It is necessary to specify the primary keys for the entity: " + table.getClass().getCanonicalName());
+            }
+        }
+        return batchAny(Operation.UPDATE, objects, chunkSize);
+    }
+
     private Table getTableName(Class clazz) throws DataException {
         return getTableName(clazz, true);
     }
@@ -705,50 +1712,21 @@ public abstract class AbstractDAO<T extends Mapping, ID> implements DAOInterface
             if (object != null) {
 
                 Table table = object.getClass().getAnnotation(Table.class);
-                for (Field field : object.getClass().getDeclaredFields()) {
-                    // this is for private scope
-                    field.setAccessible(true);
-                    Object value = field.get(object);
-
-                    Column column = field.getAnnotation(Column.class);
-                    if (column != null && ((operation == Operation.PERSIST && column.insertable()) || (operation == Operation.UPDATE && column.updatable()) || isPrimaryKey(table, column.name()))) {
-                        if (column.parser() == EnumParser.class && value instanceof EnumIdentifiable) {
-                            params.put(column.name(), ((EnumIdentifiable) value).getId());
-                        } else if (column.parser() == EnumParser.class && value instanceof Enum) {
-                            params.put(column.name(), ((Enum) value).name());
-                        } else if (column.parser() == JsonParser.class || column.parser() == JsonListParser.class) {
-                            PGobject jsonbObj = new PGobject();
-                            jsonbObj.setType("json");
-                            jsonbObj.setValue(GsonUtils.custom.toJson(value));
-                            params.put(column.name(), jsonbObj);
-                        } else if (column.parser() == ByteaJsonParser.class || column.parser() == ByteaJsonListParser.class) {
-                            byte[] bytes = GsonUtils.custom.toJson(value).getBytes(DEFAULT_CHARSET);
-                            params.put(column.name(), bytes);
-                        } else if (value instanceof StringWriter) {
-                            // TODO: Hacer un conversor generico
-                            byte[] bytes = ((StringWriter) value).toString().getBytes(DEFAULT_CHARSET);
-                            params.put(column.name(), bytes);
-                        } else if (value instanceof String) {
-                            String text = ((String) value).trim();
-                            text = (column.length() > 0 && text.length() > column.length()) ? text.substring(0, column.length()) : text;
-                            params.put(column.name(), column.encrypted() ? CryptographyUtils.encrypt(text) : text);
-                        } else {
-                            boolean isZeroOrNull = (value == null || (value instanceof Long && ((Long) value) == 0) || (value instanceof Integer && ((Integer) value) == 0));
-                            if (!column.serial() || (column.serial() && !isZeroOrNull)) {
-                                params.put(column.name(), value);
-                            }
+                for (FieldAccessor field : JdbcCache.accessor(object.getClass()).getFields()) {
+                    Column column = field.getColumn();
+                    if (column != null && ((operation != Operation.UPDATE && column.insertable()) || (operation == Operation.UPDATE && column.updatable()) || isPrimaryKey(table, column.name()))) {
+                        Object value = field.get(object);
+                        boolean isZeroOrNull = (value == null || (value instanceof Long && ((Long) value) == 0) || (value instanceof Integer && ((Integer) value) == 0));
+                        if (!column.serial() || !isZeroOrNull) {
+                            params.put(column.name(), field.getConverter().write(value));
                         }
-                    } else {
-                        ColumnGroup columnMapping = field.getAnnotation(ColumnGroup.class);
-                        if (columnMapping != null) {
-                            params.putAll(prepareParams(operation, value));
-                        } else {
-                            JoinTable joinTable = field.getAnnotation(JoinTable.class);
-                            if (joinTable != null) {
-                                Object tableValue = field.get(object);
-                                if (tableValue != null) {
-                                    params.put(joinTable.foreignKey(), extractPrimaryKey(tableValue));
-                                }
+                    } else if (column == null) {
+                        if (field.getColumnGroup() != null) {
+                            params.putAll(prepareParams(operation, field.get(object)));
+                        } else if (field.getJoinTable() != null) {
+                            Object tableValue = field.get(object);
+                            if (tableValue != null) {
+                                params.put(field.getJoinTable().foreignKey(), extractPrimaryKey(tableValue));
                             }
                         }
                     }
@@ -760,22 +1738,55 @@ public abstract class AbstractDAO<T extends Mapping, ID> implements DAOInterface
         return params;
     }
 
-    private Object extractPrimaryKey(Object entity) throws IllegalArgumentException, IllegalAccessException {
+    /**
+     * Values of the updatable columns of the entity for dirty tracking, as they are in the fields: the converters are not applied, so loading a row does not serialize
+     * or encrypt anything and a column with a non deterministic encryption is compared by its plain value. Only the immutable values (and copies of dates) can be kept,
+     * the columns with other values (lists, objects written as JSON) are always written.
+     */
+    private HashMap<String, Object> trackedValues(Object object) {
+        HashMap<String, Object> values = new HashMap<>();
+        if (object == null) {
+            return values;
+        }
+        Table table = object.getClass().getAnnotation(Table.class);
+        for (FieldAccessor field : JdbcCache.accessor(object.getClass()).getFields()) {
+            Column column = field.getColumn();
+            if (column != null && (column.updatable() || isPrimaryKey(table, column.name()))) {
+                values.put(column.name(), trackedValue(field.get(object)));
+            } else if (column == null) {
+                if (field.getColumnGroup() != null) {
+                    values.putAll(trackedValues(field.get(object)));
+                } else if (field.getJoinTable() != null) {
+                    Object tableValue = field.get(object);
+                    if (tableValue != null) {
+                        values.put(field.getJoinTable().foreignKey(), trackedValue(extractPrimaryKey(tableValue)));
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    private static Object trackedValue(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Enum
+                || value instanceof UUID || value instanceof TemporalAccessor) {
+            return value;
+        } else if (value instanceof Date) {
+            return ((Date) value).clone();
+        } else if (value instanceof byte[]) {
+            return ((byte[]) value).clone();
+        }
+        return UNTRACKED;
+    }
+
+    private Object extractPrimaryKey(Object entity) {
         Table table = entity.getClass().getAnnotation(Table.class);
         String key = table.keys()[0];
         Object value = null;
-        for (Field field : entity.getClass().getDeclaredFields()) {
-            Column column = field.getAnnotation(Column.class);
+        for (FieldAccessor field : JdbcCache.accessor(entity.getClass()).getFields()) {
+            Column column = field.getColumn();
             if (column != null && column.name().equals(key)) {
-                // this is for private scope
-                field.setAccessible(true);
-                value = field.get(entity);
-                if (column.parser() == EnumParser.class && value instanceof EnumIdentifiable) {
-                    value = ((EnumIdentifiable) value).getId();
-                } else if (column.parser() == EnumParser.class && value instanceof Enum) {
-                    value = ((Enum) value).name();
-                }
-
+                value = field.getConverter().write(field.get(entity));
                 break;
             }
         }
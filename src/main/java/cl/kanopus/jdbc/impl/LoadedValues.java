@@ -0,0 +1,84 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.impl;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Values of the columns of the entities loaded from tables with dirty tracking, see Table.dirtyTracking(). The entities are compared by identity (an entity can
+ * override equals) and are weakly referenced, so the values are discarded when the entity is garbage collected.
+ */
+final class LoadedValues {
+
+    private final Map<EntityKey, Map<String, Object>> values = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+    void put(Object entity, Map<String, Object> columns) {
+        expunge();
+        values.put(new EntityKey(entity, queue), columns);
+    }
+
+    /**
+     * @return the values kept by put, null if the entity is not tracked.
+     */
+    Map<String, Object> get(Object entity) {
+        expunge();
+        return values.get(new EntityKey(entity, null));
+    }
+
+    private void expunge() {
+        Reference<?> reference;
+        while ((reference = queue.poll()) != null) {
+            values.remove(reference);
+        }
+    }
+
+    private static final class EntityKey extends WeakReference<Object> {
+
+        private final int hash;
+
+        private EntityKey(Object entity, ReferenceQueue<Object> queue) {
+            super(entity, queue);
+            this.hash = System.identityHashCode(entity);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            Object entity = get();
+            return other instanceof EntityKey && entity != null && entity == ((EntityKey) other).get();
+        }
+    }
+}
@@ -23,11 +23,87 @@
  */
 package cl.kanopus.jdbc.impl.engine;
 
+import java.util.List;
+
 public interface CustomEngine {
 
     StringBuilder createSqlPagination(String sql, int limit, int offset);
 
     String createSqlNextval(String sequence);
 
+    /**
+     * Query that returns {size} rows with the next values of the sequence, used to allocate a block of ids in a single round trip. By default null, the values are
+     * then read one by one with {@link #createSqlNextval}.
+     */
+    default String createSqlNextvalBlock(String sequence, int size) {
+        return null;
+    }
+
+    /**
+     * Adds to the INSERT the clause that returns the values of the columns generated by the database, or null when the engine returns them through the generated keys
+     * of the JDBC driver (the default).
+     */
+    default String createSqlInsertReturning(String insertSql, List<String> columns) {
+        return null;
+    }
+
+    /**
+     * Native insert-or-update of a row identified by {keys}: the row is inserted with {columns} and, when the keys already exist, {updateColumns} are updated. By default
+     * the MERGE of the standard SQL with a VALUES source.
+     */
+    default String createSqlUpsert(String table, List<String> columns, List<String> keys, List<String> updateColumns) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("MERGE INTO ").append(table).append(" AS target USING (VALUES(");
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i == 0 ? ":" : ",:").append(columns.get(i));
+        }
+        sql.append(")) AS source(").append(String.join(",", columns)).append(") ON ");
+        MergeSql.appendMatch(sql, keys);
+        MergeSql.appendActions(sql, columns, updateColumns);
+        return sql.toString();
+    }
+
+    /**
+     * INSERT of {rows} rows in a single statement, the parameters of each row are named with the column and the index of the row: ":column_row". By default the rows
+     * are listed in the VALUES clause of the standard SQL.
+     */
+    default String createSqlInsertRows(String table, List<String> columns, int rows) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("INSERT INTO ").append(table).append("(").append(String.join(",", columns)).append(") VALUES");
+        for (int row = 0; row < rows; row++) {
+            sql.append(row == 0 ? "(" : ",(");
+            for (int i = 0; i < columns.size(); i++) {
+                sql.append(i == 0 ? ":" : ",:").append(columns.get(i)).append("_").append(row);
+            }
+            sql.append(")");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * INSERT of {rows} rows in a single statement (parameters as in {@link #createSqlInsertRows}) that returns, for each inserted row, the index of the row in the
+     * statement in the first column followed by the values of {returning}, so the values are matched with the rows whatever the order of the result. By default null,
+     * the engine can not correlate the returned values with the rows.
+     */
+    default String createSqlInsertRowsReturning(String table, List<String> columns, int rows, List<String> returning) {
+        return null;
+    }
+
+    /**
+     * Maximum number of rows of {@link #createSqlInsertRows} that respects the limit of parameters (and rows) of a statement of the engine, by default 32767
+     * parameters.
+     */
+    default int getMaxInsertRows(int columns) {
+        return Math.max(1, 32767 / Math.max(1, columns));
+    }
+
+    /**
+     * Query that returns 1 when {sql} has at least one row and 0 otherwise, the database stops reading at the first row. The engines that need a FROM in every SELECT
+     * override it.
+     */
+    default String createSqlExists(String sql) {
+        return "SELECT CASE WHEN EXISTS (" + sql + ") THEN 1 ELSE 0 END";
+    }
+
     String prepareSQL2Engine(String sql);
 }
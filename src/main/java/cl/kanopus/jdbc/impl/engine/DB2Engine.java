@@ -23,6 +23,8 @@
  */
 package cl.kanopus.jdbc.impl.engine;
 
+import java.util.List;
+
 /**
  * @author Pablo Diaz Saavedra
  */
@@ -57,6 +59,39 @@ public class DB2Engine implements CustomEngine {
         return "VALUES NEXT VALUE FOR " + sequence;
     }
 
+    @Override
+    public String createSqlNextvalBlock(String sequence, int size) {
+        return "WITH block(n) AS (VALUES 1 UNION ALL SELECT n + 1 FROM block WHERE n < " + size + ") SELECT NEXT VALUE FOR " + sequence + " FROM block";
+    }
+
+    @Override
+    public String createSqlUpsert(String table, List<String> columns, List<String> keys, List<String> updateColumns) {
+        // DB2 does not infer the type of an untyped parameter marker in a VALUES source (SQL0418N), the markers are compared with and assigned to the columns of the
+        // table instead, so they take the type of the column
+        StringBuilder sql = new StringBuilder();
+        sql.append("MERGE INTO ").append(table).append(" AS target USING SYSIBM.SYSDUMMY1 ON ");
+        for (int i = 0; i < keys.size(); i++) {
+            sql.append(i == 0 ? "" : " AND ").append("target.").append(keys.get(i)).append("=:").append(keys.get(i));
+        }
+        if (!updateColumns.isEmpty()) {
+            sql.append(" WHEN MATCHED THEN UPDATE SET ");
+            for (int i = 0; i < updateColumns.size(); i++) {
+                sql.append(i == 0 ? "" : ",").append(updateColumns.get(i)).append("=:").append(updateColumns.get(i));
+            }
+        }
+        sql.append(" WHEN NOT MATCHED THEN INSERT (").append(String.join(",", columns)).append(") VALUES (");
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i == 0 ? ":" : ",:").append(columns.get(i));
+        }
+        sql.append(")");
+        return sql.toString();
+    }
+
+    @Override
+    public String createSqlExists(String sql) {
+        return "SELECT CASE WHEN EXISTS (" + sql + ") THEN 1 ELSE 0 END FROM SYSIBM.SYSDUMMY1";
+    }
+
     @Override
     public String prepareSQL2Engine(String sql) {
         return sql;
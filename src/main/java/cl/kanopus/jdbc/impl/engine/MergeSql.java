@@ -0,0 +1,57 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.impl.engine;
+
+import java.util.List;
+
+/**
+ * Parts of the MERGE statement shared by the engines that support it, the source of the MERGE is named "source" and the table "target".
+ */
+final class MergeSql {
+
+    private MergeSql() {
+    }
+
+    static void appendMatch(StringBuilder sql, List<String> keys) {
+        for (int i = 0; i < keys.size(); i++) {
+            sql.append(i == 0 ? "" : " AND ");
+            sql.append("target.").append(keys.get(i)).append("=source.").append(keys.get(i));
+        }
+    }
+
+    static void appendActions(StringBuilder sql, List<String> columns, List<String> updateColumns) {
+        if (!updateColumns.isEmpty()) {
+            sql.append(" WHEN MATCHED THEN UPDATE SET ");
+            for (int i = 0; i < updateColumns.size(); i++) {
+                sql.append(i == 0 ? "" : ",");
+                sql.append(updateColumns.get(i)).append("=source.").append(updateColumns.get(i));
+            }
+        }
+        sql.append(" WHEN NOT MATCHED THEN INSERT (").append(String.join(",", columns)).append(") VALUES (");
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i == 0 ? "" : ",").append("source.").append(columns.get(i));
+        }
+        sql.append(")");
+    }
+}
@@ -23,6 +23,8 @@
  */
 package cl.kanopus.jdbc.impl.engine;
 
+import java.util.List;
+
 public class OracleEngine implements CustomEngine {
 
     protected OracleEngine() {
@@ -58,6 +60,57 @@ public class OracleEngine implements CustomEngine {
         return "SELECT " + sequence + ".nextval FROM dual";
     }
 
+    @Override
+    public String createSqlNextvalBlock(String sequence, int size) {
+        return "SELECT " + sequence + ".nextval FROM dual CONNECT BY level <= " + size;
+    }
+
+    @Override
+    public String createSqlInsertReturning(String insertSql, List<String> columns) {
+        // RETURNING INTO needs out parameters, the driver returns the keys instead
+        return null;
+    }
+
+    @Override
+    public String createSqlUpsert(String table, List<String> columns, List<String> keys, List<String> updateColumns) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("MERGE INTO ").append(table).append(" target USING (SELECT ");
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i == 0 ? ":" : ", :").append(columns.get(i)).append(" AS ").append(columns.get(i));
+        }
+        sql.append(" FROM dual) source ON (");
+        MergeSql.appendMatch(sql, keys);
+        sql.append(")");
+        MergeSql.appendActions(sql, columns, updateColumns);
+        return sql.toString();
+    }
+
+    @Override
+    public String createSqlInsertRows(String table, List<String> columns, int rows) {
+        // Oracle does not support several rows in VALUES, INSERT ALL is used instead
+        StringBuilder sql = new StringBuilder();
+        sql.append("INSERT ALL");
+        for (int row = 0; row < rows; row++) {
+            sql.append(" INTO ").append(table).append("(").append(String.join(",", columns)).append(") VALUES(");
+            for (int i = 0; i < columns.size(); i++) {
+                sql.append(i == 0 ? ":" : ",:").append(columns.get(i)).append("_").append(row);
+            }
+            sql.append(")");
+        }
+        sql.append(" SELECT * FROM dual");
+        return sql.toString();
+    }
+
+    @Override
+    public int getMaxInsertRows(int columns) {
+        return Math.max(1, 65535 / Math.max(1, columns));
+    }
+
+    @Override
+    public String createSqlExists(String sql) {
+        return "SELECT CASE WHEN EXISTS (" + sql + ") THEN 1 ELSE 0 END FROM dual";
+    }
+
     @Override
     public String prepareSQL2Engine(String sql) {
         return sql;
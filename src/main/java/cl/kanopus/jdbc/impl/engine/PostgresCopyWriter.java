@@ -0,0 +1,150 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.impl.engine;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.util.PGobject;
+
+/**
+ * Writes rows into a "COPY ... FROM STDIN" operation using the text format of PostgreSQL. The rows are sent to the driver every time the buffer is full, so the memory
+ * used does not depend on the number of rows.
+ */
+public final class PostgresCopyWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final CopyIn copyIn;
+    private final StringBuilder row = new StringBuilder();
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    public PostgresCopyWriter(CopyIn copyIn) {
+        this.copyIn = copyIn;
+    }
+
+    /**
+     * Writes a row, the values must be in the same order of the columns of the COPY statement and already converted for JDBC (see Converter.write).
+     */
+    public void writeRow(List<Object> values) throws SQLException {
+        row.setLength(0);
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                row.append('\t');
+            }
+            appendValue(values.get(i));
+        }
+        row.append('\n');
+
+        byte[] bytes = row.toString().getBytes(StandardCharsets.UTF_8);
+        if (position + bytes.length > buffer.length) {
+            flush();
+            if (bytes.length > buffer.length) {
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * Sends the pending rows and ends the operation.
+     *
+     * @return the number of rows copied.
+     */
+    public long finish() throws SQLException {
+        flush();
+        return copyIn.endCopy();
+    }
+
+    /**
+     * Cancels the operation, nothing of the rows already sent is inserted.
+     */
+    public void cancel() {
+        try {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        } catch (SQLException ex) {
+            // the original error is more relevant than the error of the cancellation
+        }
+    }
+
+    private void flush() throws SQLException {
+        if (position > 0) {
+            copyIn.writeToCopy(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private void appendValue(Object value) {
+        if (value instanceof PGobject) {
+            value = ((PGobject) value).getValue();
+        }
+
+        if (value == null) {
+            row.append("\\N");
+        } else if (value instanceof byte[]) {
+            // bytea in hex format, the backslash is escaped for the text format
+            row.append("\\\\x");
+            for (byte b : (byte[]) value) {
+                row.append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+            }
+        } else if (value instanceof Boolean) {
+            row.append(((Boolean) value) ? 't' : 'f');
+        } else if (value.getClass() == Date.class) {
+            appendEscaped(new Timestamp(((Date) value).getTime()).toString());
+        } else {
+            appendEscaped(value.toString());
+        }
+    }
+
+    private void appendEscaped(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' :
+                    row.append("\\\\");
+                    break;
+                case '\t' :
+                    row.append("\\t");
+                    break;
+                case '\n' :
+                    row.append("\\n");
+                    break;
+                case '\r' :
+                    row.append("\\r");
+                    break;
+                default :
+                    row.append(c);
+            }
+        }
+    }
+}
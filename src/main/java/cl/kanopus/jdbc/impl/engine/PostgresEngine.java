@@ -23,6 +23,8 @@
  */
 package cl.kanopus.jdbc.impl.engine;
 
+import java.util.List;
+
 public class PostgresEngine implements CustomEngine {
 
     protected PostgresEngine() {
@@ -54,6 +56,35 @@ public class PostgresEngine implements CustomEngine {
         return "SELECT nextval('" + sequence + "')";
     }
 
+    @Override
+    public String createSqlNextvalBlock(String sequence, int size) {
+        return "SELECT nextval('" + sequence + "') FROM generate_series(1, " + size + ")";
+    }
+
+    @Override
+    public String createSqlInsertReturning(String insertSql, List<String> columns) {
+        return insertSql + " RETURNING " + String.join(",", columns);
+    }
+
+    @Override
+    public String createSqlUpsert(String table, List<String> columns, List<String> keys, List<String> updateColumns) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("INSERT INTO ").append(table).append("(").append(String.join(",", columns)).append(") VALUES(");
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i == 0 ? ":" : ",:").append(columns.get(i));
+        }
+        sql.append(") ON CONFLICT (").append(String.join(",", keys)).append(")");
+        if (updateColumns.isEmpty()) {
+            sql.append(" DO NOTHING");
+        } else {
+            sql.append(" DO UPDATE SET ");
+            for (int i = 0; i < updateColumns.size(); i++) {
+                sql.append(i == 0 ? "" : ",").append(updateColumns.get(i)).append("=EXCLUDED.").append(updateColumns.get(i));
+            }
+        }
+        return sql.toString();
+    }
+
     @Override
     public String prepareSQL2Engine(String sql) {
         return sql;
@@ -23,6 +23,7 @@
  */
 package cl.kanopus.jdbc.impl.engine;
 
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -31,6 +32,8 @@ import java.util.regex.Pattern;
  */
 public class SQLServerEngine implements CustomEngine {
 
+    private static final String ROW_INDEX_COLUMN = "kanopus_row";
+
     final Pattern pattern = Pattern.compile("([\\\\.a-zA-Z0-9_-]+)::date", Pattern.MULTILINE);
 
     protected SQLServerEngine() {
@@ -61,6 +64,75 @@ public class SQLServerEngine implements CustomEngine {
         return "SELECT NEXT VALUE FOR " + sequence;
     }
 
+    @Override
+    public String createSqlNextvalBlock(String sequence, int size) {
+        // NEXT VALUE FOR does not allow TOP, the rows come from a table value constructor
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT NEXT VALUE FOR ").append(sequence).append(" FROM (VALUES ");
+        for (int i = 0; i < size; i++) {
+            sql.append(i == 0 ? "(" : ",(").append(i).append(")");
+        }
+        sql.append(") AS block(n)");
+        return sql.toString();
+    }
+
+    @Override
+    public String createSqlInsertReturning(String insertSql, List<String> columns) {
+        StringBuilder output = new StringBuilder(" OUTPUT ");
+        for (int i = 0; i < columns.size(); i++) {
+            output.append(i == 0 ? "" : ",").append("INSERTED.").append(columns.get(i));
+        }
+        int index = insertSql.indexOf(" VALUES");
+        return insertSql.substring(0, index) + output + insertSql.substring(index);
+    }
+
+    @Override
+    public String createSqlUpsert(String table, List<String> columns, List<String> keys, List<String> updateColumns) {
+        // SQL Server requires the MERGE to be terminated by a semicolon
+        return CustomEngine.super.createSqlUpsert(table, columns, keys, updateColumns) + ";";
+    }
+
+    @Override
+    public String createSqlInsertRowsReturning(String table, List<String> columns, int rows, List<String> returning) {
+        // OUTPUT of an INSERT can not reference the source rows and neither its order nor the order of the identities is guaranteed, a MERGE that never matches can
+        // output a column of the source with the index of the row
+        StringBuilder sql = new StringBuilder();
+        sql.append("MERGE INTO ").append(table).append(" AS target USING (VALUES");
+        for (int row = 0; row < rows; row++) {
+            sql.append(row == 0 ? "(" : ",(");
+            for (String column : columns) {
+                sql.append(":").append(column).append("_").append(row).append(",");
+            }
+            sql.append(row).append(")");
+        }
+        sql.append(") AS source(");
+        for (String column : columns) {
+            sql.append(column).append(",");
+        }
+        sql.append(ROW_INDEX_COLUMN).append(") ON 1=0 WHEN NOT MATCHED THEN INSERT");
+        if (columns.isEmpty()) {
+            sql.append(" DEFAULT VALUES");
+        } else {
+            sql.append(" (").append(String.join(",", columns)).append(") VALUES (");
+            for (int i = 0; i < columns.size(); i++) {
+                sql.append(i == 0 ? "" : ",").append("source.").append(columns.get(i));
+            }
+            sql.append(")");
+        }
+        sql.append(" OUTPUT source.").append(ROW_INDEX_COLUMN);
+        for (String column : returning) {
+            sql.append(",INSERTED.").append(column);
+        }
+        sql.append(";");
+        return sql.toString();
+    }
+
+    @Override
+    public int getMaxInsertRows(int columns) {
+        // less than 2100 parameters per statement (2100 is rejected) and 1000 rows per VALUES
+        return Math.max(1, Math.min(1000, 2099 / Math.max(1, columns)));
+    }
+
     @Override
     public String prepareSQL2Engine(String sql) {
         // Usar replace() en lugar de replaceAll() (no evalúa regex)
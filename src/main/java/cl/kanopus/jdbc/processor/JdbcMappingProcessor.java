@@ -0,0 +1,595 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.processor;
+
+import cl.kanopus.jdbc.entity.annotation.Column;
+import cl.kanopus.jdbc.entity.annotation.ColumnGroup;
+import cl.kanopus.jdbc.entity.annotation.JoinTable;
+import cl.kanopus.jdbc.entity.annotation.Table;
+import cl.kanopus.jdbc.entity.annotation.View;
+import cl.kanopus.jdbc.entity.mapper.GeneratedMapping;
+import cl.kanopus.jdbc.util.DmlStatements;
+import cl.kanopus.jdbc.util.SQLCreator;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * @author Pablo Diaz Saavedra
+ *         <p>
+ *         Annotation processor that reads the mapping annotations at build time and generates, for each class annotated with {@link Table} or {@link View}, a
+ *         {@link GeneratedMapping} with:
+ *         <ul>
+ *         <li>the base SELECT and the alias and translation maps, built with the same {@link SQLCreator} used by JdbcCache;</li>
+ *         <li>the columns and the text of the INSERT, UPDATE and DELETE of a table, built with the same methods of {@link DmlStatements};</li>
+ *         <li>the getters and setters used by the row mapper (MappingPlan) and by the parameter extraction of persist and update. Each field is read and written
+ *         directly when it is not private, or with its JavaBean getter and setter of the same type otherwise (the accessor of a record component); a field that the
+ *         generated code can not reach keeps the method handle of FieldAccessor.</li>
+ *         </ul>
+ *
+ *         <p>
+ *         The processor is registered in META-INF/services, javac runs it for every class that has this library in its processor path. Invalid mappings are reported as
+ *         compilation errors.
+ */
+@SupportedAnnotationTypes({"cl.kanopus.jdbc.entity.annotation.Table", "cl.kanopus.jdbc.entity.annotation.View"})
+public class JdbcMappingProcessor extends AbstractProcessor {
+
+    private static final String SERVICE_FILE = "META-INF/services/" + GeneratedMapping.class.getName();
+
+    private final Set<String> generated = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+
+        Set<TypeElement> entities = new LinkedHashSet<>();
+        entities.addAll(ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(Table.class)));
+        entities.addAll(ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(View.class)));
+
+        for (TypeElement entity : entities) {
+            if (entity.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            if (!isAccessible(entity, packageOf(entity))) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Mapping not generated, the class is not accessible from its package", entity);
+                continue;
+            }
+            try {
+                generate(entity);
+            } catch (InvalidMappingException | IllegalArgumentException ex) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, ex.getMessage(), entity);
+            } catch (IOException ex) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Error writing the generated mapping: " + ex.getMessage(), entity);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True when the generated code of the package can use the element: no private element in its path, and only public ones from another package.
+     */
+    private boolean isAccessible(Element element, String packageName) {
+        boolean samePackage = packageOf(element).equals(packageName);
+        Element current = element;
+        while (current == element || current instanceof TypeElement) {
+            Set<Modifier> modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || (!samePackage && !modifiers.contains(Modifier.PUBLIC))) {
+                return false;
+            }
+            current = current.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private boolean isAccessible(TypeMirror type, String packageName) {
+        if (type.getKind().isPrimitive()) {
+            return true;
+        } else if (type.getKind() == TypeKind.ARRAY) {
+            return isAccessible(((ArrayType) type).getComponentType(), packageName);
+        } else if (type.getKind() == TypeKind.DECLARED) {
+            return isAccessible(processingEnv.getTypeUtils().asElement(type), packageName);
+        } else if (type.getKind() == TypeKind.TYPEVAR) {
+            return isAccessible(processingEnv.getTypeUtils().erasure(type), packageName);
+        }
+        return false;
+    }
+
+    private String packageOf(Element element) {
+        return processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+    }
+
+    private void generate(TypeElement entity) throws IOException {
+        String table;
+        String sqlAll;
+        String sqlLazy;
+        Map<String, String> aliasAll;
+        Map<String, String> aliasLazy;
+
+        View view = entity.getAnnotation(View.class);
+        if (view != null) {
+            checkAnnotationNotSupported(entity);
+            table = null;
+            sqlAll = view.value();
+            sqlLazy = view.value();
+            aliasAll = new LinkedHashMap<>();
+            aliasLazy = new LinkedHashMap<>();
+        } else {
+            SQLCreator creatorAll = new SQLCreator();
+            prepareCreator(null, null, entity, true, creatorAll);
+            SQLCreator creatorLazy = new SQLCreator();
+            prepareCreator(null, null, entity, false, creatorLazy);
+
+            table = creatorAll.getTable();
+            sqlAll = creatorAll.generate();
+            sqlLazy = creatorLazy.generate();
+            aliasAll = creatorAll.getAliasMap();
+            aliasLazy = creatorLazy.getAliasMap();
+        }
+
+        Map<String, String> translationMap = new LinkedHashMap<>();
+        translationMapExtract(entity, translationMap, "", entity.getAnnotation(Table.class));
+
+        String packageName = packageOf(entity);
+        Map<String, String> getters = new LinkedHashMap<>();
+        Map<String, String> setters = new LinkedHashMap<>();
+        collectAccessors(entity, packageName, new HashSet<>(), getters, setters);
+
+        String binaryName = processingEnv.getElementUtils().getBinaryName(entity).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_') + GeneratedMapping.SUFFIX;
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import cl.kanopus.jdbc.entity.mapper.GeneratedMapping;\n");
+        source.append("import java.util.List;\n");
+        source.append("import java.util.Map;\n");
+        source.append("import java.util.function.BiConsumer;\n");
+        source.append("import java.util.function.Function;\n");
+        source.append("import javax.annotation.processing.Generated;\n\n");
+        source.append("@Generated(\"").append(JdbcMappingProcessor.class.getName()).append("\")\n");
+        source.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        source.append("public final class ").append(simpleName).append(" implements GeneratedMapping {\n\n");
+        source.append("    private static final String SQL_ALL = ").append(literal(sqlAll)).append(";\n");
+        source.append("    private static final String SQL_LAZY = ").append(literal(sqlLazy)).append(";\n");
+        source.append("    private static final Map<String, String> ALIAS_ALL = ").append(mapLiteral(aliasAll)).append(";\n");
+        source.append("    private static final Map<String, String> ALIAS_LAZY = ").append(mapLiteral(aliasLazy)).append(";\n");
+        source.append("    private static final Map<String, String> TRANSLATION = ").append(mapLiteral(translationMap)).append(";\n");
+        source.append("    private static final Map<String, Function<Object, Object>> GETTERS = ").append(lambdaMapLiteral("Function<Object, Object>", "target -> ", getters)).append(";\n");
+        source.append("    private static final Map<String, BiConsumer<Object, Object>> SETTERS = ").append(lambdaMapLiteral("BiConsumer<Object, Object>", "(target, value) -> ", setters)).append(";\n\n");
+        source.append("    @Override\n");
+        source.append("    public Class<?> getMappedClass() {\n");
+        source.append("        return ").append(entity.getQualifiedName()).append(".class;\n");
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public String getTable() {\n");
+        source.append("        return ").append(table == null ? "null" : literal(table)).append(";\n");
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public String getSql(boolean loadAll) {\n");
+        source.append("        return loadAll ? SQL_ALL : SQL_LAZY;\n");
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public Map<String, String> getAliasMap(boolean loadAll) {\n");
+        source.append("        return loadAll ? ALIAS_ALL : ALIAS_LAZY;\n");
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public Map<String, String> getTranslationMap() {\n");
+        source.append("        return TRANSLATION;\n");
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public Map<String, Function<Object, Object>> getGetters() {\n");
+        source.append("        return GETTERS;\n");
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public Map<String, BiConsumer<Object, Object>> getSetters() {\n");
+        source.append("        return SETTERS;\n");
+        source.append("    }\n");
+        if (table != null) {
+            appendDml(source, entity);
+        }
+        source.append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, entity).openWriter()) {
+            writer.write(source.toString());
+        }
+        generated.add(qualifiedName);
+    }
+
+    /**
+     * Columns and statements of DmlStatements, read from the fields as DmlStatements.collectColumns does.
+     */
+    private void appendDml(StringBuilder source, TypeElement entity) {
+        Table table = entity.getAnnotation(Table.class);
+        List<String> keys = Arrays.asList(table.keys());
+        Set<String> insertColumns = new LinkedHashSet<>();
+        Set<String> updateColumns = new LinkedHashSet<>();
+        List<String> serial = new ArrayList<>();
+        collectColumns(entity, keys, true, insertColumns, updateColumns, serial);
+
+        List<String> omitted = new ArrayList<>(insertColumns);
+        omitted.removeAll(serial);
+
+        source.append("\n");
+        source.append("    @Override\n");
+        source.append("    public List<String> getInsertColumns() {\n");
+        source.append("        return ").append(listLiteral(insertColumns)).append(";\n");
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public List<String> getUpdateColumns() {\n");
+        source.append("        return ").append(listLiteral(updateColumns)).append(";\n");
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public List<String> getSerialColumns() {\n");
+        source.append("        return ").append(listLiteral(serial)).append(";\n");
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public String getInsertSql(boolean serialProvided) {\n");
+        source.append("        return serialProvided ? ").append(literal(DmlStatements.insertSql(table.name(), new ArrayList<>(insertColumns))));
+        source.append(" : ").append(literal(DmlStatements.insertSql(table.name(), omitted))).append(";\n");
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public String getUpdateSql() {\n");
+        source.append("        return ").append(literal(DmlStatements.updateSql(table.name(), keys, new ArrayList<>(updateColumns)))).append(";\n");
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public String getDeleteSql() {\n");
+        source.append("        return ").append(literal(DmlStatements.deleteSql(table.name(), keys))).append(";\n");
+        source.append("    }\n");
+    }
+
+    private void collectColumns(TypeElement clazz, List<String> keys, boolean root, Set<String> insertColumns, Set<String> updateColumns, List<String> serial) {
+        for (VariableElement field : instanceFields(clazz)) {
+            Column column = field.getAnnotation(Column.class);
+            if (column != null) {
+                boolean primaryKey = root && keys.contains(column.name());
+                if (column.insertable() || primaryKey) {
+                    insertColumns.add(column.name());
+                }
+                if (column.updatable() || primaryKey) {
+                    updateColumns.add(column.name());
+                }
+                if (column.serial()) {
+                    serial.add(column.name());
+                }
+            } else if (field.getAnnotation(ColumnGroup.class) != null) {
+                collectColumns((TypeElement) processingEnv.getTypeUtils().asElement(field.asType()), keys, false, insertColumns, updateColumns, serial);
+            } else if (field.getAnnotation(JoinTable.class) != null) {
+                insertColumns.add(field.getAnnotation(JoinTable.class).foreignKey());
+                updateColumns.add(field.getAnnotation(JoinTable.class).foreignKey());
+            }
+        }
+    }
+
+    /**
+     * Getter and setter expressions of the mapped fields of the class and of its column groups, see {@link GeneratedMapping#getGetters()}.
+     */
+    private void collectAccessors(TypeElement clazz, String packageName, Set<TypeElement> visited, Map<String, String> getters, Map<String, String> setters) {
+        if (clazz == null || !visited.add(clazz) || !isAccessible(clazz, packageName)) {
+            return;
+        }
+        String className = processingEnv.getElementUtils().getBinaryName(clazz).toString();
+        String target = "((" + processingEnv.getTypeUtils().erasure(clazz.asType()) + ") target)";
+        for (VariableElement field : instanceFields(clazz)) {
+            ColumnGroup columnGroup = field.getAnnotation(ColumnGroup.class);
+            if (field.getAnnotation(Column.class) == null && columnGroup == null && field.getAnnotation(JoinTable.class) == null) {
+                continue;
+            }
+
+            String name = field.getSimpleName().toString();
+            boolean writable = !field.getModifiers().contains(Modifier.FINAL) && isAccessible(field.asType(), packageName);
+            String getter = null;
+            String setter = null;
+            if (isAccessible(field, packageName)) {
+                getter = target + "." + name;
+                setter = writable ? target + "." + name + " = " + valueOf(field.asType()) : null;
+            } else {
+                ExecutableElement method = findGetter(clazz, field, packageName);
+                getter = method != null ? target + "." + method.getSimpleName() + "()" : null;
+                method = writable ? findSetter(clazz, field, packageName) : null;
+                setter = method != null ? target + "." + method.getSimpleName() + "(" + valueOf(field.asType()) + ")" : null;
+            }
+            if (getter != null) {
+                getters.put(GeneratedMapping.fieldKey(className, name), getter);
+            }
+            if (setter != null) {
+                setters.put(GeneratedMapping.fieldKey(className, name), setter);
+            }
+
+            if (columnGroup != null) {
+                collectAccessors(typeOf(columnGroup::result), packageName, visited, getters, setters);
+                collectAccessors((TypeElement) processingEnv.getTypeUtils().asElement(field.asType()), packageName, visited, getters, setters);
+            }
+        }
+    }
+
+    private ExecutableElement findGetter(TypeElement clazz, VariableElement field, String packageName) {
+        String name = field.getSimpleName().toString();
+        String property = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (ExecutableElement method : ElementFilter.methodsIn(clazz.getEnclosedElements())) {
+            String methodName = method.getSimpleName().toString();
+            boolean named = clazz.getKind() == ElementKind.RECORD ? methodName.equals(name)
+                    : methodName.equals("get" + property) || (field.asType().getKind() == TypeKind.BOOLEAN && methodName.equals("is" + property));
+            if (named && method.getParameters().isEmpty() && !method.getModifiers().contains(Modifier.STATIC) && isAccessible(method, packageName)
+                    && processingEnv.getTypeUtils().isSameType(method.getReturnType(), field.asType())) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private ExecutableElement findSetter(TypeElement clazz, VariableElement field, String packageName) {
+        String name = field.getSimpleName().toString();
+        String methodName = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (ExecutableElement method : ElementFilter.methodsIn(clazz.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals(methodName) && method.getParameters().size() == 1 && !method.getModifiers().contains(Modifier.STATIC)
+                    && isAccessible(method, packageName) && processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(), field.asType())) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Conversion of the Object value of the setter, a primitive number accepts any Number as the method handle of FieldAccessor does.
+     */
+    private String valueOf(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "(Boolean) value";
+            case CHAR:
+                return "(Character) value";
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return "((Number) value)." + type.getKind().name().toLowerCase(Locale.ROOT) + "Value()";
+            default:
+                return "(" + processingEnv.getTypeUtils().erasure(type) + ") value";
+        }
+    }
+
+    private static List<VariableElement> instanceFields(TypeElement clazz) {
+        List<VariableElement> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(clazz.getEnclosedElements())) {
+            if (!field.getModifiers().contains(Modifier.STATIC)) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    private void writeServiceFile() {
+        if (generated.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = file.openWriter()) {
+                for (String name : generated) {
+                    writer.write(name);
+                    writer.write("\n");
+                }
+            }
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Error writing " + SERVICE_FILE + ": " + ex.getMessage());
+        }
+    }
+
+    private void checkAnnotationNotSupported(TypeElement entity) {
+        for (VariableElement field : ElementFilter.fieldsIn(entity.getEnclosedElements())) {
+            if (field.getAnnotation(JoinTable.class) != null) {
+                throw new InvalidMappingException("JoinTable not supported using View: " + field.getSimpleName());
+            }
+        }
+    }
+
+    private void translationMapExtract(TypeElement clazz, Map<String, String> translationMap, String prefix, Table parent) {
+        Table table = clazz.getAnnotation(Table.class);
+        String tableName;
+        if (table != null) {
+            tableName = table.name();
+        } else if (parent != null) {
+            tableName = parent.name();
+        } else {
+            tableName = null;
+        }
+
+        for (VariableElement field : ElementFilter.fieldsIn(clazz.getEnclosedElements())) {
+            String fieldName = field.getSimpleName().toString();
+            Column column = field.getAnnotation(Column.class);
+            if (column != null) {
+                translationMap.put(prefix + fieldName, tableName != null ? tableName + "." + column.name() : column.name());
+            } else {
+                ColumnGroup columnGroup = field.getAnnotation(ColumnGroup.class);
+                if (columnGroup != null) {
+                    translationMapExtract(typeOf(columnGroup::result), translationMap, prefix + fieldName + ".", (table != null) ? table : parent);
+                } else {
+                    JoinTable joinTable = field.getAnnotation(JoinTable.class);
+                    if (joinTable != null) {
+                        translationMapExtract(typeOf(joinTable::table), translationMap, prefix + fieldName + ".", (table != null) ? table : parent);
+                    }
+                }
+            }
+        }
+    }
+
+    private void prepareCreator(Table parent, JoinTable joined, TypeElement currentClazz, boolean loadAll, SQLCreator creator) {
+        String tableName;
+        Table table = currentClazz.getAnnotation(Table.class);
+        if (table != null) {
+            tableName = table.name();
+            if (creator.isEmpty()) {
+                creator.setTable(table.name());
+            } else if (joined != null) {
+                creator.addJoinTable(parent, joined, table);
+            }
+        } else if (parent != null) {
+            tableName = parent.name();
+            table = parent;
+        } else {
+            throw new InvalidMappingException("Class " + currentClazz.getQualifiedName() + " without Table defined");
+        }
+
+        for (VariableElement field : ElementFilter.fieldsIn(currentClazz.getEnclosedElements())) {
+            Column column = field.getAnnotation(Column.class);
+            if (column != null) {
+                creator.addColumn(tableName, column.name(), column.alias());
+            } else {
+                JoinTable joinTable = field.getAnnotation(JoinTable.class);
+                if (joinTable != null && (!joinTable.lazy() || loadAll)) {
+                    prepareCreator(table, joinTable, typeOf(joinTable::table), loadAll, creator);
+                } else {
+                    ColumnGroup columnGroup = field.getAnnotation(ColumnGroup.class);
+                    if (columnGroup != null) {
+                        prepareCreator(table, joinTable, typeOf(columnGroup::result), loadAll, creator);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Class values of an annotation are not loaded during compilation, the type is obtained from the mirror of the exception.
+     */
+    private TypeElement typeOf(Supplier<Class<?>> value) {
+        try {
+            value.get();
+        } catch (MirroredTypeException ex) {
+            return (TypeElement) processingEnv.getTypeUtils().asElement(ex.getTypeMirror());
+        }
+        throw new InvalidMappingException("Class value of the annotation could not be resolved");
+    }
+
+    private static String mapLiteral(Map<String, String> map) {
+        if (map.isEmpty()) {
+            return "Map.of()";
+        }
+        StringBuilder literal = new StringBuilder("Map.ofEntries(");
+        int i = 0;
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            literal.append(i++ == 0 ? "\n" : ",\n");
+            literal.append("            Map.entry(").append(literal(entry.getKey())).append(", ").append(literal(entry.getValue())).append(")");
+        }
+        return literal.append(")").toString();
+    }
+
+    private static String lambdaMapLiteral(String type, String parameters, Map<String, String> map) {
+        if (map.isEmpty()) {
+            return "Map.of()";
+        }
+        StringBuilder literal = new StringBuilder("Map.ofEntries(");
+        int i = 0;
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            literal.append(i++ == 0 ? "\n" : ",\n");
+            literal.append("            Map.<String, ").append(type).append(">entry(").append(literal(entry.getKey())).append(", ").append(parameters).append(entry.getValue()).append(")");
+        }
+        return literal.append(")").toString();
+    }
+
+    private static String listLiteral(Iterable<String> values) {
+        StringBuilder literal = new StringBuilder("List.of(");
+        int i = 0;
+        for (String value : values) {
+            literal.append(i++ == 0 ? "" : ", ").append(literal(value));
+        }
+        return literal.append(")").toString();
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    private static class InvalidMappingException extends RuntimeException {
+
+        InvalidMappingException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.util;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.support.JdbcUtils;
+
+/**
+ * Result of a query stored by column instead of by row. Numeric columns are kept in primitive arrays ({@code long[]}, {@code int[]}, {@code double[]}) and text columns are
+ * dictionary encoded, each row keeps the code of its value and every distinct value is stored only once. Null values are marked in a {@link BitSet} per column.
+ *
+ * <p>
+ * Useful for analytic queries over a large number of rows, where one object per cell would consume most of the heap. The arrays returned are the internal storage of the result
+ * and are not copied.
+ *
+ * @author Pablo Diaz Saavedra
+ */
+public final class ColumnarResult {
+
+    public enum ColumnType {
+        LONG,
+        INT,
+        DOUBLE,
+        STRING,
+        OBJECT
+    }
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final String[] names;
+    private final ColumnData[] columns;
+    private final int rowCount;
+
+    private ColumnarResult(String[] names, ColumnData[] columns, int rowCount) {
+        this.names = names;
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Returns an extractor that reads the whole ResultSet into a ColumnarResult.
+     */
+    public static ResultSetExtractor<ColumnarResult> extractor() {
+        return ColumnarResult::extract;
+    }
+
+    private static ColumnarResult extract(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int count = metaData.getColumnCount();
+        String[] names = new String[count];
+        ColumnData[] columns = new ColumnData[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = JdbcUtils.lookupColumnName(metaData, i + 1);
+            columns[i] = new ColumnData(columnType(metaData, i + 1));
+        }
+
+        int rows = 0;
+        while (rs.next()) {
+            for (int i = 0; i < count; i++) {
+                columns[i].read(rs, i + 1, rows);
+            }
+            rows++;
+        }
+        for (ColumnData column : columns) {
+            column.trim(rows);
+        }
+        return new ColumnarResult(names, columns, rows);
+    }
+
+    private static ColumnType columnType(ResultSetMetaData metaData, int index) throws SQLException {
+        switch (metaData.getColumnType(index)) {
+            case Types.BIGINT :
+                return ColumnType.LONG;
+            case Types.INTEGER :
+            case Types.SMALLINT :
+            case Types.TINYINT :
+                return ColumnType.INT;
+            case Types.NUMERIC :
+            case Types.DECIMAL :
+                return (metaData.getScale(index) == 0 && metaData.getPrecision(index) > 0 && metaData.getPrecision(index) <= 18) ? ColumnType.LONG : ColumnType.DOUBLE;
+            case Types.DOUBLE :
+            case Types.FLOAT :
+            case Types.REAL :
+                return ColumnType.DOUBLE;
+            case Types.CHAR :
+            case Types.VARCHAR :
+            case Types.LONGVARCHAR :
+            case Types.NCHAR :
+            case Types.NVARCHAR :
+            case Types.LONGNVARCHAR :
+                return ColumnType.STRING;
+            default :
+                return ColumnType.OBJECT;
+        }
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return names.length;
+    }
+
+    public String getColumnName(int column) {
+        return names[column];
+    }
+
+    /**
+     * Returns the position of the column with the label (ignoring case), or -1 if it is not part of the result.
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public ColumnType getColumnType(int column) {
+        return columns[column].type;
+    }
+
+    public boolean isNull(int column, int row) {
+        return columns[column].nulls.get(row);
+    }
+
+    public BitSet getNulls(int column) {
+        return (BitSet) columns[column].nulls.clone();
+    }
+
+    /**
+     * Values of a LONG column, null values are zero.
+     */
+    public long[] getLongs(int column) {
+        return check(column, ColumnType.LONG).longs;
+    }
+
+    public long[] getLongs(String name) {
+        return getLongs(column(name));
+    }
+
+    /**
+     * Values of an INT column, null values are zero.
+     */
+    public int[] getInts(int column) {
+        return check(column, ColumnType.INT).ints;
+    }
+
+    public int[] getInts(String name) {
+        return getInts(column(name));
+    }
+
+    /**
+     * Values of a DOUBLE column, null values are zero.
+     */
+    public double[] getDoubles(int column) {
+        return check(column, ColumnType.DOUBLE).doubles;
+    }
+
+    public double[] getDoubles(String name) {
+        return getDoubles(column(name));
+    }
+
+    /**
+     * Codes of a STRING column, each code is a position of {@link #getDictionary(int)} and null values are -1.
+     */
+    public int[] getCodes(int column) {
+        return check(column, ColumnType.STRING).ints;
+    }
+
+    public int[] getCodes(String name) {
+        return getCodes(column(name));
+    }
+
+    public String[] getDictionary(int column) {
+        return check(column, ColumnType.STRING).dictionary.toArray(new String[0]);
+    }
+
+    public String[] getDictionary(String name) {
+        return getDictionary(column(name));
+    }
+
+    public String getString(int column, int row) {
+        ColumnData data = check(column, ColumnType.STRING);
+        int code = data.ints[row];
+        return code < 0 ? null : data.dictionary.get(code);
+    }
+
+    /**
+     * Values of a column without a primitive representation (dates, binaries and others).
+     */
+    public Object[] getObjects(int column) {
+        return check(column, ColumnType.OBJECT).objects;
+    }
+
+    public Object[] getObjects(String name) {
+        return getObjects(column(name));
+    }
+
+    private int column(String name) {
+        int column = indexOf(name);
+        if (column < 0) {
+            throw new IllegalArgumentException("The column " + name + " is not part of the result");
+        }
+        return column;
+    }
+
+    private ColumnData check(int column, ColumnType type) {
+        ColumnData data = columns[column];
+        if (data.type != type) {
+            throw new IllegalArgumentException("The column " + names[column] + " is " + data.type + ", not " + type);
+        }
+        return data;
+    }
+
+    private static final class ColumnData {
+
+        private final ColumnType type;
+        private final BitSet nulls = new BitSet();
+        private long[] longs;
+        private int[] ints;
+        private double[] doubles;
+        private Object[] objects;
+        private List<String> dictionary;
+        private Map<String, Integer> codes;
+
+        private ColumnData(ColumnType type) {
+            this.type = type;
+            switch (type) {
+                case LONG :
+                    longs = new long[INITIAL_CAPACITY];
+                    break;
+                case INT :
+                    ints = new int[INITIAL_CAPACITY];
+                    break;
+                case DOUBLE :
+                    doubles = new double[INITIAL_CAPACITY];
+                    break;
+                case STRING :
+                    ints = new int[INITIAL_CAPACITY];
+                    dictionary = new ArrayList<>();
+                    codes = new HashMap<>();
+                    break;
+                default :
+                    objects = new Object[INITIAL_CAPACITY];
+            }
+        }
+
+        private void read(ResultSet rs, int index, int row) throws SQLException {
+            switch (type) {
+                case LONG :
+                    if (row == longs.length) {
+                        longs = Arrays.copyOf(longs, row * 2);
+                    }
+                    longs[row] = rs.getLong(index);
+                    break;
+                case INT :
+                    if (row == ints.length) {
+                        ints = Arrays.copyOf(ints, row * 2);
+                    }
+                    ints[row] = rs.getInt(index);
+                    break;
+                case DOUBLE :
+                    if (row == doubles.length) {
+                        doubles = Arrays.copyOf(doubles, row * 2);
+                    }
+                    doubles[row] = rs.getDouble(index);
+                    break;
+                case STRING :
+                    if (row == ints.length) {
+                        ints = Arrays.copyOf(ints, row * 2);
+                    }
+                    String value = rs.getString(index);
+                    ints[row] = value != null ? codes.computeIfAbsent(value, this::add) : -1;
+                    break;
+                default :
+                    if (row == objects.length) {
+                        objects = Arrays.copyOf(objects, row * 2);
+                    }
+                    objects[row] = rs.getObject(index);
+            }
+            if (rs.wasNull()) {
+                nulls.set(row);
+            }
+        }
+
+        private int add(String value) {
+            dictionary.add(value);
+            return dictionary.size() - 1;
+        }
+
+        private void trim(int rows) {
+            if (longs != null) {
+                longs = Arrays.copyOf(longs, rows);
+            }
+            if (ints != null) {
+                ints = Arrays.copyOf(ints, rows);
+            }
+            if (doubles != null) {
+                doubles = Arrays.copyOf(doubles, rows);
+            }
+            if (objects != null) {
+                objects = Arrays.copyOf(objects, rows);
+            }
+            codes = null;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.util;
+
+import cl.kanopus.jdbc.entity.annotation.Column;
+import cl.kanopus.jdbc.entity.annotation.Table;
+import cl.kanopus.jdbc.entity.mapper.GeneratedMapping;
+import cl.kanopus.jdbc.entity.mapper.FieldAccessor;
+import cl.kanopus.jdbc.exception.DataException;
+import cl.kanopus.jdbc.impl.engine.CustomEngine;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * INSERT, UPDATE and DELETE statements of an entity. The columns keep the order of the declared fields, so every call of the same entity sends exactly the same SQL and
+ * reuses the parsed statement of the driver and the execution plan of the database.
+ * <p>
+ * Only the columns with a value are sent, as the SQL created on every call did: a join table that was not loaded or a null column group keeps the value of the row on
+ * UPDATE and the default of the column on INSERT. The statement of each set of columns is created once, in practice an entity uses a few sets: the full INSERT with
+ * "serial omitted" (the serial column is zero or null and the database generates the value) or "serial provided", and the UPDATE of the columns with value or, with
+ * dirty tracking, only the changed ones. The upsert is created once per engine and set of columns.
+ * <p>
+ * When JdbcMappingProcessor generated the mapping of the entity, its columns and full statements are taken from it instead of reading the fields.
+ */
+@SuppressWarnings("all")
+public final class DmlStatements {
+
+    /**
+     * Limit of partial INSERT and UPDATE statements kept per entity, past it the statement of a new set of columns is created on every call.
+     */
+    static final int MAX_PARTIAL_STATEMENTS = 64;
+
+    private final Statement insertSerialOmitted;
+    private final Statement insertSerialProvided;
+    private final Statement update;
+    private final Statement delete;
+    private final List<String> serialColumns;
+    private final Table table;
+    private final List<String> keys;
+    private final List<String> insertColumns;
+    private final List<String> updateSetColumns;
+    private final Map<String, Statement> partialInserts = new ConcurrentHashMap<>();
+    private final Map<String, Statement> partialUpdates = new ConcurrentHashMap<>();
+    private final Map<String, Statement> upserts = new ConcurrentHashMap<>();
+    private final Map<String, Statement> insertRows = new ConcurrentHashMap<>();
+
+    DmlStatements(Class<?> clazz) {
+        Table table = clazz.getAnnotation(Table.class);
+        if (table == null) {
+            throw new DataException("The class " + clazz.getCanonicalName() + " does not have the @Table annotation");
+        }
+
+        List<String> keys = Arrays.asList(table.keys());
+        Set<String> insertColumns = new LinkedHashSet<>();
+        Set<String> updateColumns = new LinkedHashSet<>();
+        List<String> serial = new ArrayList<>();
+        GeneratedMapping generated = JdbcCache.generatedMapping(clazz);
+        if (generated != null && generated.getInsertColumns() != null) {
+            insertColumns.addAll(generated.getInsertColumns());
+            updateColumns.addAll(generated.getUpdateColumns());
+            serial.addAll(generated.getSerialColumns());
+        } else {
+            generated = null;
+            collectColumns(clazz, keys, true, insertColumns, updateColumns, serial);
+        }
+
+        List<String> omitted = new ArrayList<>(insertColumns);
+        omitted.removeAll(serial);
+
+        this.serialColumns = Collections.unmodifiableList(serial);
+        this.insertSerialProvided = new Statement(generated != null ? generated.getInsertSql(true) : insertSql(table.name(), new ArrayList<>(insertColumns)), new ArrayList<>(insertColumns));
+        this.insertSerialOmitted = serial.isEmpty() ? insertSerialProvided : new Statement(generated != null ? generated.getInsertSql(false) : insertSql(table.name(), omitted), omitted);
+        this.update = new Statement(generated != null ? generated.getUpdateSql() : updateSql(table.name(), keys, new ArrayList<>(updateColumns)), updateParameters(keys, new ArrayList<>(updateColumns)));
+        this.table = table;
+        this.keys = keys;
+        this.insertColumns = new ArrayList<>(insertColumns);
+        this.updateSetColumns = new ArrayList<>(updateColumns);
+        this.updateSetColumns.removeAll(keys);
+        this.delete = new Statement(generated != null ? generated.getDeleteSql() : deleteSql(table.name(), keys), keys);
+    }
+
+    private static void collectColumns(Class<?> clazz, List<String> keys, boolean root, Set<String> insertColumns, Set<String> updateColumns, List<String> serial) {
+        for (FieldAccessor field : JdbcCache.accessor(clazz).getFields()) {
+            Column column = field.getColumn();
+            if (column != null) {
+                boolean primaryKey = root && keys.contains(column.name());
+                if (column.insertable() || primaryKey) {
+                    insertColumns.add(column.name());
+                }
+                if (column.updatable() || primaryKey) {
+                    updateColumns.add(column.name());
+                }
+                if (column.serial()) {
+                    serial.add(column.name());
+                }
+            } else if (field.getColumnGroup() != null) {
+                collectColumns(field.getType(), keys, false, insertColumns, updateColumns, serial);
+            } else if (field.getJoinTable() != null) {
+                insertColumns.add(field.getJoinTable().foreignKey());
+                updateColumns.add(field.getJoinTable().foreignKey());
+            }
+        }
+    }
+
+    private static Statement createInsert(Table table, List<String> columns) {
+        return new Statement(insertSql(table.name(), columns), columns);
+    }
+
+    private static Statement createUpdate(Table table, List<String> keys, List<String> columns) {
+        return new Statement(updateSql(table.name(), keys, columns), updateParameters(keys, columns));
+    }
+
+    private static List<String> updateParameters(List<String> keys, List<String> columns) {
+        List<String> parameters = new ArrayList<>(columns);
+        for (String key : keys) {
+            if (!parameters.contains(key)) {
+                parameters.add(key);
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Text of the INSERT of the given columns, shared with JdbcMappingProcessor so the statements generated at build time are the ones built here.
+     */
+    public static String insertSql(String table, List<String> columns) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("INSERT INTO ").append(table);
+        sql.append("(").append(String.join(",", columns)).append(") VALUES(");
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i == 0 ? ":" : ",:").append(columns.get(i));
+        }
+        sql.append(")");
+        return sql.toString();
+    }
+
+    /**
+     * Text of the UPDATE that sets the given columns, except the keys, filtered by the keys.
+     */
+    public static String updateSql(String table, List<String> keys, List<String> columns) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("UPDATE ").append(table).append(" SET ");
+        boolean firstElement = true;
+        for (String column : columns) {
+            if (!keys.contains(column)) {
+                sql.append(!firstElement ? "," : "");
+                sql.append(column).append("=:").append(column);
+                firstElement = false;
+            }
+        }
+        sql.append(" WHERE ");
+        for (int i = 0; i < keys.size(); i++) {
+            sql.append(i == 0 ? "" : " AND ");
+            sql.append(keys.get(i)).append("=:").append(keys.get(i));
+        }
+        return sql.toString();
+    }
+
+    public static String deleteSql(String table, List<String> keys) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("DELETE FROM ").append(table).append(" WHERE ");
+        for (int i = 0; i < keys.size(); i++) {
+            sql.append(i == 0 ? "" : " AND ");
+            sql.append(keys.get(i)).append("=:").append(keys.get(i));
+        }
+        return sql.toString();
+    }
+
+    /**
+     * INSERT of all the insertable columns, with or without the serial columns.
+     */
+    public Statement getInsert(boolean serialProvided) {
+        return serialProvided ? insertSerialProvided : insertSerialOmitted;
+    }
+
+    /**
+     * INSERT that only lists the given columns, in the order of the full INSERT.
+     */
+    public Statement getInsert(Collection<String> columns) {
+        List<String> values = new ArrayList<>();
+        for (String column : insertColumns) {
+            if (columns.contains(column)) {
+                values.add(column);
+            }
+        }
+        if (values.equals(insertSerialProvided.getParameters())) {
+            return insertSerialProvided;
+        } else if (values.equals(insertSerialOmitted.getParameters())) {
+            return insertSerialOmitted;
+        }
+        return cached(partialInserts, String.join(",", values), () -> createInsert(table, values));
+    }
+
+    /**
+     * True when the INSERT does not send a value for the serial columns, so the database generates them.
+     */
+    public boolean isSerialOmitted(Statement insert) {
+        return !serialColumns.isEmpty() && !insert.getParameters().containsAll(serialColumns);
+    }
+
+    /**
+     * INSERT of {rows} rows in one statement with the columns of the given INSERT, see CustomEngine.createSqlInsertRows. The parameters of the statement are the ones of
+     * a single row.
+     */
+    public Statement getInsertRows(CustomEngine engine, Statement insert, int rows) {
+        return insertRows.computeIfAbsent(engine.getClass().getName() + ":" + String.join(",", insert.getParameters()) + ":" + rows,
+                k -> new Statement(engine.createSqlInsertRows(table.name(), insert.getParameters(), rows), insert.getParameters()));
+    }
+
+    /**
+     * INSERT of {rows} rows that returns the index of each row and its serial columns, see CustomEngine.createSqlInsertRowsReturning.
+     *
+     * @return null when the engine can not match the returned values with the rows.
+     */
+    public Statement getInsertRowsReturning(CustomEngine engine, Statement insert, int rows) {
+        return insertRows.computeIfAbsent(engine.getClass().getName() + ":" + String.join(",", insert.getParameters()) + ":" + rows + ":returning", k -> {
+            String sql = engine.createSqlInsertRowsReturning(table.name(), insert.getParameters(), rows, serialColumns);
+            // a null value is not cached, the engine is asked again on the next call
+            return sql == null ? null : new Statement(sql, insert.getParameters());
+        });
+    }
+
+    public Statement getUpdate() {
+        return update;
+    }
+
+    /**
+     * UPDATE that only sets the given columns, in the order of the full UPDATE.
+     *
+     * @return null when none of the columns can be updated.
+     */
+    public Statement getUpdate(Collection<String> columns) {
+        List<String> set = new ArrayList<>();
+        for (String column : updateSetColumns) {
+            if (columns.contains(column)) {
+                set.add(column);
+            }
+        }
+        if (set.isEmpty()) {
+            return null;
+        } else if (set.size() == updateSetColumns.size()) {
+            return update;
+        }
+        return cached(partialUpdates, String.join(",", set), () -> createUpdate(table, keys, set));
+    }
+
+    private static Statement cached(Map<String, Statement> statements, String columns, Supplier<Statement> builder) {
+        Statement statement = statements.get(columns);
+        if (statement != null) {
+            return statement;
+        } else if (statements.size() >= MAX_PARTIAL_STATEMENTS) {
+            return builder.get();
+        }
+        return statements.computeIfAbsent(columns, k -> builder.get());
+    }
+
+    /**
+     * Native insert-or-update of the engine with the given columns (as in getInsert), the keys of the table as conflict target and the updatable ones of those columns
+     * in the update.
+     */
+    public Statement getUpsert(CustomEngine engine, Collection<String> columns) {
+        Statement insert = getInsert(columns);
+        return upserts.computeIfAbsent(engine.getClass().getName() + ":" + String.join(",", insert.getParameters()), k -> {
+            List<String> updateColumns = new ArrayList<>(updateSetColumns);
+            updateColumns.retainAll(insert.getParameters());
+            return new Statement(engine.createSqlUpsert(table.name(), insert.getParameters(), keys, updateColumns), insert.getParameters());
+        });
+    }
+
+    public Statement getDelete() {
+        return delete;
+    }
+
+    public List<String> getSerialColumns() {
+        return serialColumns;
+    }
+
+    public static final class Statement {
+
+        private final String sql;
+        private final List<String> parameters;
+
+        private Statement(String sql, List<String> parameters) {
+            this.sql = sql;
+            this.parameters = Collections.unmodifiableList(parameters);
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        /**
+         * Names of the parameters of the statement, every one must be bound.
+         */
+        public List<String> getParameters() {
+            return parameters;
+        }
+    }
+}
@@ -23,26 +23,25 @@
  */
 package cl.kanopus.jdbc.util;
 
-import cl.kanopus.common.util.Utils;
-import cl.kanopus.common.util.crypto.CryptographyUtils;
 import cl.kanopus.jdbc.entity.Mapping;
 import cl.kanopus.jdbc.entity.annotation.*;
 import cl.kanopus.jdbc.entity.mapper.AbstractRowMapper;
-import cl.kanopus.jdbc.util.parser.*;
-import java.io.StringWriter;
+import cl.kanopus.jdbc.entity.mapper.EntityAccessor;
+import cl.kanopus.jdbc.entity.mapper.GeneratedMapping;
+import cl.kanopus.jdbc.entity.mapper.MappingPlan;
+import cl.kanopus.jdbc.entity.mapper.MappingRowMapper;
 import java.lang.reflect.Field;
-import java.math.BigDecimal;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import javax.crypto.BadPaddingException;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * @author Pablo Diaz Saavedra
@@ -52,11 +51,17 @@ import javax.crypto.BadPaddingException;
 @SuppressWarnings("all")
 public class JdbcCache {
 
-    private static final Charset DEFAULT_CHARSET = StandardCharsets.ISO_8859_1;
+    private static final Map<String, Map<String, String>> translationMapCache = new ConcurrentHashMap<>();
+    private static final Map<String, MappingPlan> mappingPlanCache = new ConcurrentHashMap<>();
+    private static final Map<String, EntityAccessor> accessorCache = new ConcurrentHashMap<>();
+    private static final Map<String, SqlBase> sqlBaseCache = new ConcurrentHashMap<>();
+    private static final Map<String, DmlStatements> dmlStatementsCache = new ConcurrentHashMap<>();
 
-    private static final Map<String, Map<String, String>> translationMapCache = new HashMap<>();
-    private static final Map<String, AbstractRowMapper> rowMapperCache = new HashMap<>();
-    private static final Map<String, SqlBase> sqlBaseCache = new HashMap<>();
+    private static final CacheStatistics translationMapStatistics = new CacheStatistics("translationMap");
+    private static final CacheStatistics mappingPlanStatistics = new CacheStatistics("mappingPlan");
+    private static final CacheStatistics accessorStatistics = new CacheStatistics("accessor");
+    private static final CacheStatistics sqlBaseStatistics = new CacheStatistics("sqlBase");
+    private static final CacheStatistics dmlStatementsStatistics = new CacheStatistics("dmlStatements");
 
     private JdbcCache() {
         throw new IllegalStateException("Utility class");
@@ -66,29 +71,70 @@ public class JdbcCache {
         return canonicalName + (loadAll ? "_ALL" : "_LAZY");
     }
 
+    /**
+     * Returns the cached value of the key, building it only once. Concurrent callers of a missing key wait for the single build instead of repeating it. A builder must not
+     * read the same cache it is being stored in, nested entries are built directly.
+     */
+    private static <V> V computeOnce(Map<String, V> cache, CacheStatistics statistics, String key, Function<String, V> builder) {
+        V value = cache.get(key);
+        if (value != null) {
+            statistics.hits.increment();
+            return value;
+        }
+
+        boolean[] built = new boolean[1];
+        value = cache.computeIfAbsent(key, k -> {
+            long start = System.nanoTime();
+            V created = builder.apply(k);
+            statistics.buildNanos.add(System.nanoTime() - start);
+            statistics.misses.increment();
+            built[0] = true;
+            return created;
+        });
+        if (!built[0]) {
+            statistics.hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Returns the statistics of every metadata cache, useful to monitor the warm-up cost of the application.
+     */
+    public static List<CacheStatistics> statistics() {
+        return Arrays.asList(translationMapStatistics, mappingPlanStatistics, accessorStatistics, sqlBaseStatistics, dmlStatementsStatistics);
+    }
+
     public static SqlBase sqlBase(Class<? extends Mapping> clazz) {
         return sqlBase(clazz, false);
     }
 
     public static SqlBase sqlBase(Class<? extends Mapping> clazz, boolean loadAll) {
         String key = geyKeyCache(clazz.getCanonicalName(), loadAll);
-        SqlBase sqlBase = sqlBaseCache.get(key);
-        if (sqlBase == null) {
+        return computeOnce(sqlBaseCache, sqlBaseStatistics, key, k -> {
+            GeneratedMapping generated = generatedMapping(clazz);
+            if (generated != null) {
+                return new SqlBase(generated.getTable(), generated.getSql(loadAll), generated.getAliasMap(loadAll));
+            }
+
             View view = (View) clazz.getDeclaredAnnotation(View.class);
             if (view != null) {
                 checkAnnotationNotSupported(clazz);
 
-                sqlBase = new SqlBase(null, view.value(), new HashMap<>());
-                sqlBaseCache.put(key, sqlBase);
+                return new SqlBase(null, view.value(), new HashMap<>());
             } else {
                 SQLCreator creator = new SQLCreator();
                 prepareCreator(null, null, clazz, loadAll, creator);
 
-                sqlBase = new SqlBase(creator.getTable(), creator.generate(), creator.getAliasMap());
-                sqlBaseCache.put(key, sqlBase);
+                return new SqlBase(creator.getTable(), creator.generate(), creator.getAliasMap());
             }
-        }
-        return sqlBase;
+        });
+    }
+
+    /**
+     * Returns the INSERT, UPDATE and DELETE statements of the entity, they are created only once per class.
+     */
+    public static DmlStatements dmlStatements(Class<? extends Mapping> clazz) {
+        return computeOnce(dmlStatementsCache, dmlStatementsStatistics, clazz.getCanonicalName(), k -> new DmlStatements(clazz));
     }
 
     public static class SqlBase {
@@ -99,135 +145,142 @@ public class JdbcCache {
         public SqlBase(String tableBase, String sql, Map<String, String> aliasMap) {
 
             this.sql = sql;
-            this.aliasMap = aliasMap;
+            this.aliasMap = Collections.unmodifiableMap(aliasMap);
         }
 
         public String getSql() {
             return sql;
         }
 
+        /**
+         * The map is shared by every query of the class, it must be copied before adding new aliases.
+         */
         public Map<String, String> getAliasMap() {
             return aliasMap;
         }
     }
 
-    public static AbstractRowMapper rowMapper(Class clazz, boolean loadAll) {
-        String key = geyKeyCache(clazz.getCanonicalName(), loadAll);
-        AbstractRowMapper rowMapper = rowMapperCache.get(key);
-        if (rowMapper == null) {
-            rowMapper = new AbstractRowMapper() {
-                @Override
-                public Object mapRow(ResultSet rs, int i) throws SQLException {
-                    Object object;
-                    try {
-                        object = clazz.newInstance();
-                        for (Field field : clazz.getDeclaredFields()) {
-                            Column column = field.getAnnotation(Column.class);
-                            if (column != null) {
-                                // this is for private scope
-                                field.setAccessible(true);
-                                if (column.parser() != null && column.parser() == EnumParser.class) {
-                                    String enumId = rs.getString(column.name());
-                                    field.set(object, EnumParser.parse(column.parserResult(), isNumeric(enumId) ? Integer.valueOf(enumId) : enumId));
-                                } else if (column.parser() != null && column.parser() == JsonListParser.class) {
-                                    String json = rs.getString(column.name());
-                                    field.set(object, JsonListParser.parse(column.parserResult(), json));
-                                } else if (column.parser() != null && column.parser() == JsonParser.class) {
-                                    String json = rs.getString(column.name());
-                                    field.set(object, JsonParser.parse(column.parserResult(), json));
-                                } else if (column.parser() != null && column.parser() == ByteaJsonListParser.class) {
-                                    byte[] bytes = rs.getBytes(column.name());
-                                    String json = new String((byte[]) bytes, DEFAULT_CHARSET); // TODO: parametrizar
-                                    // el encoding
-                                    field.set(object, ByteaJsonListParser.parse(column.parserResult(), json));
-                                } else if (column.parser() != null && column.parser() == ByteaJsonParser.class) {
-                                    byte[] bytes = rs.getBytes(column.name());
-                                    String json = new String((byte[]) bytes, DEFAULT_CHARSET); // TODO: parametrizar
-                                    // el encoding
-                                    field.set(object, ByteaJsonParser.parse(column.parserResult(), json));
-                                } else {
-                                    Object columnObject = rs.getObject(!Utils.isNullOrEmpty(column.alias()) ? column.alias() : column.name());
-                                    if (columnObject instanceof BigDecimal && field.getType() == Long.class) {
-                                        field.set(object, (((BigDecimal) columnObject).longValue()));
-                                    } else if (columnObject instanceof Integer && field.getType() == Long.class) {
-                                        field.set(object, (((Integer) columnObject).longValue()));
-                                    } else if (columnObject instanceof byte[] && field.getType() == StringWriter.class) {
-                                        StringWriter str = new StringWriter();
-                                        str.write(new String((byte[]) columnObject, DEFAULT_CHARSET));
-                                        field.set(object, str); // TODO: parametrizar el encoding
-                                    } else if (columnObject instanceof java.sql.Date && field.getType() == LocalDate.class) {
-                                        field.set(object, ((java.sql.Date) columnObject).toLocalDate());
-                                    } else if (columnObject instanceof java.sql.Timestamp && field.getType() == LocalDateTime.class) {
-                                        field.set(object, ((java.sql.Timestamp) columnObject).toLocalDateTime());
-                                    } else if (columnObject instanceof java.sql.Timestamp && field.getType() == LocalDate.class) {
-                                        field.set(object, ((java.sql.Timestamp) columnObject).toLocalDateTime().toLocalDate());
-                                    } else {
-                                        field.set(object, column.encrypted() ? CryptographyUtils.decrypt((String) columnObject) : columnObject);
-                                    }
-                                }
-                            } else {
-                                ColumnGroup columnMapping = field.getAnnotation(ColumnGroup.class);
-                                if (columnMapping != null) {
-                                    try {
-                                        // this is for private scope
-                                        field.setAccessible(true);
-                                        field.set(object, rowMapper(columnMapping.result(), loadAll).mapRow(rs, i));
-
-                                    } catch (Exception ex) {
-                                        // Internal mapping is not feasible or SQL
-                                        // incomplete
-                                        field.setAccessible(true);
-                                        field.set(object, null);
-                                        if (!columnMapping.nullable()) {
-                                            throw new SQLException(columnMapping.result().getName() + " cannot be null", ex.getMessage());
-                                        }
-                                        if (ex.getCause().getCause() != null && ex.getCause().getCause().getClass() == BadPaddingException.class) {
-                                            throw new SQLException(columnMapping.result().getName() + " cannot be decrypted using security key", ex.getMessage());
-                                        }
-                                    }
-                                } else {
-                                    JoinTable joinTable = field.getAnnotation(JoinTable.class);
-                                    if (joinTable != null) {
-                                        try {
-                                            // this is for private scopel
-                                            field.setAccessible(true);
-                                            field.set(object, rowMapper(joinTable.table(), loadAll).mapRow(rs, i));
-                                        } catch (Exception ex) {
-                                            // Internal mapping is not feasible or SQL
-                                            // incomplete
-                                            field.setAccessible(true);
-                                            field.set(object, null);
-
-                                            // TODO: se debe implementar el lanzar excepcion
-                                            // solo en ciertas condiciones --> throw ex;
-                                            if (ex.getCause().getCause() != null && ex.getCause().getCause().getClass() == BadPaddingException.class) {
-                                                throw new SQLException(columnMapping.result().getName() + " cannot be decrypted using security key", ex.getMessage());
-                                            }
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    } catch (Exception ex) {
-                        throw new SQLException("Error performing automatic rowmapper of " + clazz + ": " + ex.getMessage(), ex);
-                    }
-                    return object;
+    public static class CacheStatistics {
+
+        private final String name;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder buildNanos = new LongAdder();
+
+        private CacheStatistics(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getHits() {
+            return hits.sum();
+        }
+
+        /**
+         * Number of entries built, each missing key is counted once even if several threads asked for it at the same time.
+         */
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        public long getBuildTimeNanos() {
+            return buildNanos.sum();
+        }
+
+        @Override
+        public String toString() {
+            return name + "[hits=" + getHits() + ", misses=" + getMisses() + ", buildTime=" + TimeUnit.NANOSECONDS.toMillis(getBuildTimeNanos()) + "ms]";
+        }
+    }
+
+    /**
+     * Returns the mapping generated at build time for the class, or null when the annotation processor was not enabled for it.
+     */
+    public static GeneratedMapping generatedMapping(Class<?> clazz) {
+        return GeneratedMappings.INSTANCES.get(clazz);
+    }
+
+    /**
+     * Returns the getter generated at build time for the field, or null when the field is read with its method handle.
+     */
+    public static Function<Object, Object> generatedGetter(Field field) {
+        GeneratedMapping generated = generatedOwner(field);
+        return generated != null ? generated.getGetters().get(GeneratedMapping.fieldKey(field.getDeclaringClass().getName(), field.getName())) : null;
+    }
+
+    public static BiConsumer<Object, Object> generatedSetter(Field field) {
+        GeneratedMapping generated = generatedOwner(field);
+        return generated != null ? generated.getSetters().get(GeneratedMapping.fieldKey(field.getDeclaringClass().getName(), field.getName())) : null;
+    }
+
+    /**
+     * The generated code casts to the class compiled with it, a class with the same name loaded by another class loader keeps its method handles.
+     */
+    private static GeneratedMapping generatedOwner(Field field) {
+        GeneratedMapping generated = GeneratedMappings.FIELDS.get(GeneratedMapping.fieldKey(field.getDeclaringClass().getName(), field.getName()));
+        return generated != null && generated.getMappedClass().getClassLoader() == field.getDeclaringClass().getClassLoader() ? generated : null;
+    }
+
+    private static final class GeneratedMappings {
+
+        private static final Map<Class<?>, GeneratedMapping> INSTANCES = load();
+        private static final Map<String, GeneratedMapping> FIELDS = new HashMap<>();
+
+        static {
+            for (GeneratedMapping generated : INSTANCES.values()) {
+                for (String field : generated.getGetters().keySet()) {
+                    FIELDS.put(field, generated);
+                }
+                for (String field : generated.getSetters().keySet()) {
+                    FIELDS.put(field, generated);
                 }
-            };
-            rowMapperCache.put(key, rowMapper);
+            }
+        }
+
+        private static Map<Class<?>, GeneratedMapping> load() {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            Map<Class<?>, GeneratedMapping> instances = new HashMap<>();
+            for (GeneratedMapping generated : ServiceLoader.load(GeneratedMapping.class, classLoader != null ? classLoader : JdbcCache.class.getClassLoader())) {
+                instances.put(generated.getMappedClass(), generated);
+            }
+            return instances;
         }
-        return rowMapper;
     }
 
+    /**
+     * Returns a new RowMapper for a single query. The mapping plan of the class is cached, the returned instance only keeps the column indexes of the ResultSet being read.
+     */
+    public static AbstractRowMapper rowMapper(Class clazz, boolean loadAll) {
+        return new MappingRowMapper(mappingPlan(clazz, loadAll));
+    }
+
+    public static MappingPlan mappingPlan(Class clazz, boolean loadAll) {
+        String key = geyKeyCache(clazz.getCanonicalName(), loadAll);
+        return computeOnce(mappingPlanCache, mappingPlanStatistics, key, k -> new MappingPlan(clazz, loadAll));
+    }
+
+    public static <T> EntityAccessor<T> accessor(Class<T> clazz) {
+        return computeOnce(accessorCache, accessorStatistics, clazz.getCanonicalName(), k -> new EntityAccessor<>(clazz));
+    }
+
+    /**
+     * The map is shared by every query of the class, it must be copied before adding new properties.
+     */
     public static Map<String, String> translationMap(Class<? extends Mapping> clazz) {
-        Map<String, String> translationMap = translationMapCache.get(clazz.getCanonicalName());
-        if (translationMap == null || translationMap.isEmpty()) {
+        return computeOnce(translationMapCache, translationMapStatistics, clazz.getCanonicalName(), k -> {
+            GeneratedMapping generated = generatedMapping(clazz);
+            if (generated != null) {
+                return generated.getTranslationMap();
+            }
+
             Table table = (Table) clazz.getDeclaredAnnotation(Table.class);
-            translationMap = new HashMap<>();
+            Map<String, String> translationMap = new HashMap<>();
             translationMapExtract(clazz, translationMap, "", table);
-            translationMapCache.put(clazz.getCanonicalName(), translationMap);
-        }
-        return translationMap;
+            return Collections.unmodifiableMap(translationMap);
+        });
     }
 
     private static void translationMapExtract(Class clazz, Map<String, String> translationMap, String prefix, Table parent) {
@@ -260,10 +313,6 @@ public class JdbcCache {
         }
     }
 
-    private static boolean isNumeric(String str) {
-        return (!Utils.isNullOrEmpty(str)) ? str.matches("[0-9]+") : false;
-    }
-
     private static void prepareCreator(Table parent, JoinTable joined, Class currentClazz, boolean loadAll, SQLCreator creator) {
 
         String tableName = null;
@@ -273,7 +322,7 @@ public class JdbcCache {
             if (creator.isEmpty()) {
                 creator.setTable(table.name());
             } else if (joined != null) {
-                creator.addJoinTable(parent, joined);
+                creator.addJoinTable(parent, joined, (Table) joined.table().getDeclaredAnnotation(Table.class));
             }
         } else {
             tableName = parent.name();
@@ -307,76 +356,4 @@ public class JdbcCache {
             }
         }
     }
-
-    static class SQLCreator {
-
-        private int index = 0;
-        private String table;
-        private final List<String> columns = new ArrayList<>();
-
-        private final StringBuilder sqlJoins = new StringBuilder();
-        private final Map<String, String> aliasMap = new HashMap<>();
-
-        public boolean isEmpty() {
-            return table == null || table.isEmpty();
-        }
-
-        public void setTable(String table) {
-            this.table = table;
-            generateAlias(table);
-        }
-
-        public void addJoinTable(Table parent, JoinTable joinTable) {
-            Table tableJoin = joinTable.table().getDeclaredAnnotation(Table.class);
-            if (tableJoin.keys() == null || tableJoin.keys().length != 1) {
-                throw new RuntimeException("Error JoinTable without keys defined");
-            }
-            String alias = generateAlias(tableJoin.name());
-            String aliasParent = getAlias(parent.name());
-
-            sqlJoins.append(" ").append(joinTable.operator().toString().replace("_", " ")).append(" ").append(tableJoin.name());
-            sqlJoins.append(" ").append(alias);
-            sqlJoins.append(" ON ").append(aliasParent).append(".").append(joinTable.foreignKey()).append("=").append(alias).append(".").append(tableJoin.keys()[0]);
-        }
-
-        public String generate() {
-            StringBuilder sql = new StringBuilder();
-            sql.append("SELECT ");
-            for (int i = 0; i < columns.size(); i++) {
-                sql.append(i == 0 ? "" : ", ");
-                sql.append(columns.get(i));
-            }
-
-            sql.append(" FROM ").append(table);
-            sql.append(" ").append(aliasMap.get(table));
-            if (sqlJoins.length() > 0) {
-                sql.append(sqlJoins.toString());
-            }
-
-            return sql.toString();
-        }
-
-        public String getTable() {
-            return table;
-        }
-
-        public Map<String, String> getAliasMap() {
-            return aliasMap;
-        }
-
-        private String generateAlias(String name) {
-            index++;
-            String alias = "t" + index;
-            aliasMap.put(name, alias);
-            return alias;
-        }
-
-        private String getAlias(String name) {
-            return aliasMap.get(name);
-        }
-
-        private void addColumn(String tableName, String column, String alias) {
-            columns.add(getAlias(tableName).concat(".").concat(column).concat(!Utils.isNullOrEmpty(alias) ? " AS ".concat(alias) : ""));
-        }
-    }
 }
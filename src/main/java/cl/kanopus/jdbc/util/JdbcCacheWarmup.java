@@ -0,0 +1,166 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.util;
+
+import cl.kanopus.jdbc.entity.Mapping;
+import cl.kanopus.jdbc.entity.annotation.Table;
+import cl.kanopus.jdbc.entity.annotation.View;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+
+/**
+ * @author Pablo Diaz Saavedra
+ *         <p>
+ *         Loads the metadata of every entity found in the configured packages into JdbcCache when the application starts, for both loadAll variants, so the first request of
+ *         each entity does not pay for it. Entities are built in parallel and an invalid mapping stops the startup of the application.
+ *
+ *         <pre>
+ * &#64;Bean
+ * public JdbcCacheWarmup jdbcCacheWarmup() {
+ *     return new JdbcCacheWarmup("cl.kanopus.example.entity");
+ * }
+ *         </pre>
+ */
+public class JdbcCacheWarmup implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcCacheWarmup.class);
+
+    private final String[] basePackages;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    public JdbcCacheWarmup(String... basePackages) {
+        this.basePackages = basePackages;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        warmup();
+    }
+
+    /**
+     * Builds the metadata of every entity and returns the build time of each one.
+     *
+     * @throws IllegalStateException if any entity has an invalid mapping, all of them are reported.
+     */
+    public Map<Class<? extends Mapping>, Duration> warmup() {
+        List<Class<? extends Mapping>> entities = scan();
+        long start = System.nanoTime();
+
+        Map<Class<? extends Mapping>, Duration> times = new LinkedHashMap<>();
+        List<String> errors = new ArrayList<>();
+        List<Throwable> causes = new ArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, entities.size())));
+        try {
+            List<Callable<Duration>> tasks = new ArrayList<>();
+            for (Class<? extends Mapping> entity : entities) {
+                tasks.add(() -> build(entity));
+            }
+
+            List<Future<Duration>> futures = executor.invokeAll(tasks);
+            for (int i = 0; i < entities.size(); i++) {
+                Class<? extends Mapping> entity = entities.get(i);
+                try {
+                    Duration time = futures.get(i).get();
+                    times.put(entity, time);
+                    log.info("JdbcCache warm-up of {} built in {} ms", entity.getName(), time.toMillis());
+                } catch (ExecutionException ex) {
+                    errors.add(entity.getName() + ": " + ex.getCause().getMessage());
+                    causes.add(ex.getCause());
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("JdbcCache warm-up interrupted", ex);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (!causes.isEmpty()) {
+            IllegalStateException exception = new IllegalStateException("JdbcCache warm-up found invalid mappings: " + String.join(", ", errors), causes.get(0));
+            for (Throwable cause : causes.subList(1, causes.size())) {
+                exception.addSuppressed(cause);
+            }
+            throw exception;
+        }
+
+        log.info("JdbcCache warm-up of {} entities finished in {} ms", entities.size(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return times;
+    }
+
+    private static Duration build(Class<? extends Mapping> clazz) {
+        long start = System.nanoTime();
+        JdbcCache.accessor(clazz);
+        JdbcCache.translationMap(clazz);
+        for (boolean loadAll : new boolean[]{false, true}) {
+            JdbcCache.sqlBase(clazz, loadAll);
+            JdbcCache.mappingPlan(clazz, loadAll);
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Class<? extends Mapping>> scan() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Table.class));
+        scanner.addIncludeFilter(new AnnotationTypeFilter(View.class));
+
+        TreeSet<Class<? extends Mapping>> entities = new TreeSet<>(Comparator.comparing(Class::getName));
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+        for (String basePackage : basePackages) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                try {
+                    Class<?> clazz = ClassUtils.forName(candidate.getBeanClassName(), classLoader);
+                    if (Mapping.class.isAssignableFrom(clazz)) {
+                        entities.add((Class<? extends Mapping>) clazz);
+                    }
+                } catch (ClassNotFoundException | LinkageError ex) {
+                    throw new IllegalStateException("It is not possible to load the entity: " + candidate.getBeanClassName(), ex);
+                }
+            }
+        }
+        return new ArrayList<>(entities);
+    }
+}
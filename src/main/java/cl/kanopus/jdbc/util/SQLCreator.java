@@ -0,0 +1,109 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.util;
+
+import cl.kanopus.jdbc.entity.annotation.JoinTable;
+import cl.kanopus.jdbc.entity.annotation.Table;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the base SELECT of an entity with an alias (t1, t2, ...) for every table. It is shared by JdbcCache at runtime and by JdbcMappingProcessor at build time, so
+ * both produce the same text. It only depends on the mapping annotations, the processor can not load the rest of the library.
+ */
+public final class SQLCreator {
+
+    private int index = 0;
+    private String table;
+    private final List<String> columns = new ArrayList<>();
+
+    private final StringBuilder sqlJoins = new StringBuilder();
+    private final Map<String, String> aliasMap = new LinkedHashMap<>();
+
+    public boolean isEmpty() {
+        return table == null || table.isEmpty();
+    }
+
+    public void setTable(String table) {
+        this.table = table;
+        generateAlias(table);
+    }
+
+    /**
+     * @param tableJoin
+     *            Table annotation of the class of the join, the caller resolves it because the class is not available at build time.
+     */
+    public void addJoinTable(Table parent, JoinTable joinTable, Table tableJoin) {
+        if (tableJoin.keys() == null || tableJoin.keys().length != 1) {
+            throw new IllegalArgumentException("Error JoinTable without keys defined: " + tableJoin.name());
+        }
+        String alias = generateAlias(tableJoin.name());
+        String aliasParent = aliasMap.get(parent.name());
+
+        sqlJoins.append(" ").append(joinTable.operator().toString().replace("_", " ")).append(" ").append(tableJoin.name());
+        sqlJoins.append(" ").append(alias);
+        sqlJoins.append(" ON ").append(aliasParent).append(".").append(joinTable.foreignKey()).append("=").append(alias).append(".").append(tableJoin.keys()[0]);
+    }
+
+    public void addColumn(String tableName, String column, String alias) {
+        String tableAlias = aliasMap.get(tableName);
+        if (tableAlias == null) {
+            throw new IllegalArgumentException("The table " + tableName + " of the column " + column + " is not part of the query");
+        }
+        columns.add(tableAlias + "." + column + (alias != null && !alias.isEmpty() ? " AS " + alias : ""));
+    }
+
+    public String generate() {
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT ");
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i == 0 ? "" : ", ");
+            sql.append(columns.get(i));
+        }
+
+        sql.append(" FROM ").append(table);
+        sql.append(" ").append(aliasMap.get(table));
+        if (sqlJoins.length() > 0) {
+            sql.append(sqlJoins);
+        }
+        return sql.toString();
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public Map<String, String> getAliasMap() {
+        return aliasMap;
+    }
+
+    private String generateAlias(String name) {
+        index++;
+        String alias = "t" + index;
+        aliasMap.put(name, alias);
+        return alias;
+    }
+}
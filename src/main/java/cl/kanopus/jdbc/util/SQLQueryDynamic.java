@@ -50,6 +50,9 @@ import java.util.stream.Collectors;
 @SuppressWarnings("all")
 public class SQLQueryDynamic {
 
+    public static final String TOTAL_COUNT_COLUMN = "kanopus_total_count";
+    public static final String KEYSET_COLUMN_PREFIX = "kanopus_key_";
+
     protected final StringBuilder sqlJoins = new StringBuilder();
     protected final StringBuilder sqlWhere = new StringBuilder();
     protected final HashMap<String, Object> sqlParams = new HashMap<>();
@@ -66,6 +69,10 @@ public class SQLQueryDynamic {
     private boolean enableUppercaseAutomatically = true;
     private boolean enablePrefixParam = false;
     private boolean clauseWhereAutomatically = true;
+    private boolean enableTotalCountWithWindow = false;
+    private boolean enableKeysetPagination = false;
+    private boolean keysetRowValueComparison = false;
+    private Object[] keysetValues;
     private boolean loadAll;
     private String prefixParam;
     private Map<String, String> propertiesTranslationMap;
@@ -89,8 +96,8 @@ public class SQLQueryDynamic {
         this.clazz = clazz;
         JdbcCache.SqlBase base = JdbcCache.sqlBase(clazz);
         this.sqlSelect = base.getSql();
-        this.aliasMap = base.getAliasMap();
-        this.propertiesTranslationMap = JdbcCache.translationMap(clazz);
+        this.aliasMap = new HashMap<>(base.getAliasMap());
+        this.propertiesTranslationMap = new HashMap<>(JdbcCache.translationMap(clazz));
         this.prefixParam = Utils.generateRandomText(5);
     }
 
@@ -99,8 +106,8 @@ public class SQLQueryDynamic {
         this.loadAll = loadAll;
         JdbcCache.SqlBase base = JdbcCache.sqlBase(clazz, loadAll);
         this.sqlSelect = base.getSql();
-        this.aliasMap = base.getAliasMap();
-        this.propertiesTranslationMap = JdbcCache.translationMap(clazz);
+        this.aliasMap = new HashMap<>(base.getAliasMap());
+        this.propertiesTranslationMap = new HashMap<>(JdbcCache.translationMap(clazz));
         this.prefixParam = Utils.generateRandomText(5);
     }
 
@@ -136,6 +143,86 @@ public class SQLQueryDynamic {
         this.clauseWhereAutomatically = clauseWhereAutomatically;
     }
 
+    /**
+     * When enabled, a limited query returns the total of rows together with the page using COUNT(*) OVER(), instead of running a second count query.
+     */
+    public void setEnableTotalCountWithWindow(boolean enableTotalCountWithWindow) {
+        this.enableTotalCountWithWindow = enableTotalCountWithWindow;
+    }
+
+    /**
+     * The total can be read from the page if it is enabled and the SELECT allows adding the window column: a DISTINCT would count the duplicated rows, "SELECT *"
+     * can not be followed by other columns in every engine and a subquery in the columns hides the FROM of the query.
+     */
+    public boolean isTotalCountWithWindow() {
+        return enableTotalCountWithWindow && isLimited() && isSelectExtensible();
+    }
+
+    /**
+     * True when columns can be added before the FROM of the SELECT: it does not use "*" (Oracle rejects "*, column"), DISTINCT (the added column changes the rows) or
+     * sub-selects in the list of columns.
+     */
+    private boolean isSelectExtensible() {
+        if (sqlSelect == null) {
+            return false;
+        }
+        String select = sqlSelect.trim().toUpperCase();
+        int indexFrom = select.indexOf(" FROM ");
+        if (indexFrom < 0) {
+            return false;
+        }
+        String columns = select.substring("SELECT".length(), indexFrom).trim();
+        return !columns.startsWith("DISTINCT") && !columns.equals("*") && !columns.contains("(SELECT");
+    }
+
+    /**
+     * When enabled, the columns of the ORDER BY are returned as KEYSET_COLUMN_PREFIX + index and, after setKeysetValues, the query only returns the rows that come after
+     * those values. The page costs the same no matter how deep it is, unlike OFFSET. The ORDER BY must end with a unique column with no null values. A SELECT with "*",
+     * DISTINCT or sub-selects in its columns keeps the OFFSET pagination.
+     */
+    public void setEnableKeysetPagination(boolean enableKeysetPagination) {
+        this.enableKeysetPagination = enableKeysetPagination;
+    }
+
+    public boolean isKeysetPagination() {
+        return enableKeysetPagination && isSorted() && isSelectExtensible();
+    }
+
+    public int getKeysetColumnCount() {
+        return isKeysetPagination() ? sqlOrderBy.length : 0;
+    }
+
+    /**
+     * Compares the sort keys as a row value (k1, k2) &gt; (:v1, :v2), only for engines that support it. It is applied when all the columns have the same sort order.
+     */
+    public void setKeysetRowValueComparison(boolean keysetRowValueComparison) {
+        this.keysetRowValueComparison = keysetRowValueComparison;
+    }
+
+    /**
+     * Values of the ORDER BY columns of the last row read, null to start from the first row.
+     */
+    public void setKeysetValues(Object[] keysetValues) {
+        this.keysetValues = keysetValues;
+    }
+
+    public Object[] getKeysetValues() {
+        return keysetValues;
+    }
+
+    /**
+     * Parameters of the keyset predicate, they are kept apart from getParams() because they change on every page.
+     */
+    public HashMap<String, Object> getKeysetParams() {
+        HashMap<String, Object> params = new HashMap<>();
+        if (isKeysetPagination() && keysetValues != null) {
+            for (int i = 0; i < keysetValues.length; i++) {
+                params.put(KEYSET_COLUMN_PREFIX + i, keysetValues[i]);
+            }
+        }
+        return params;
+    }
+
     public HashMap<String, Object> getParams() {
         return sqlParams;
     }
@@ -614,14 +701,42 @@ public class SQLQueryDynamic {
     }
 
     public String getSQL() {
+        return getSQL(sqlSelect);
+    }
+
+    /**
+     * SQL of the query with the column TOTAL_COUNT_COLUMN, the total of rows of the query (without limit) in every row, see isTotalCountWithWindow.
+     */
+    public String getSQLWithTotalCount() {
+        int indexFrom = sqlSelect.toUpperCase().indexOf(" FROM ");
+        return getSQL(sqlSelect.substring(0, indexFrom) + ", COUNT(*) OVER() AS " + TOTAL_COUNT_COLUMN + sqlSelect.substring(indexFrom));
+    }
+
+    private String getSQL(String select) {
         StringBuilder sql = new StringBuilder();
-        sql.append(sqlSelect);
+        if (isKeysetPagination()) {
+            int indexFrom = select.toUpperCase().indexOf(" FROM ");
+            sql.append(select, 0, indexFrom);
+            for (int i = 0; i < sqlOrderBy.length; i++) {
+                sql.append(", ").append(getOrderByExpression(i)).append(" AS ").append(KEYSET_COLUMN_PREFIX).append(i);
+            }
+            sql.append(select.substring(indexFrom));
+        } else {
+            sql.append(select);
+        }
         if (!sqlJoins.isEmpty()) {
             sql.append(sqlJoins);
         }
 
-        if (index > 0) {
+        boolean keyset = isKeysetPagination() && keysetValues != null;
+        if (index > 0 && keyset) {
+            sql.append(" WHERE (").append(sqlWhere).append(") AND ");
+            appendKeysetPredicate(sql);
+        } else if (index > 0) {
             sql.append(" WHERE ").append(sqlWhere);
+        } else if (keyset) {
+            sql.append(" WHERE ");
+            appendKeysetPredicate(sql);
         }
         // Aqui se genera el order by
         if (sqlOrderBy != null && sqlOrderBy.length > 0) {
@@ -639,11 +754,59 @@ public class SQLQueryDynamic {
         return sql.toString();
     }
 
+    private String getOrderByExpression(int i) {
+        return enableOrderByWithLower ? "LOWER(" + sqlOrderBy[i] + ")" : sqlOrderBy[i];
+    }
+
+    /**
+     * Rows after the last one read: (k1, k2) &gt; (:v1, :v2) as a row value, otherwise expanded as (k1 &gt; :v1 OR (k1 = :v1 AND k2 &gt; :v2)) so every column can
+     * have its own sort order.
+     */
+    private void appendKeysetPredicate(StringBuilder sql) {
+        boolean sameOrder = true;
+        for (boolean desc : sqlOrderByDesc) {
+            sameOrder &= (desc == sqlOrderByDesc[0]);
+        }
+
+        if (keysetRowValueComparison && sameOrder && sqlOrderBy.length > 1) {
+            StringBuilder values = new StringBuilder();
+            sql.append("(");
+            for (int i = 0; i < sqlOrderBy.length; i++) {
+                sql.append(i > 0 ? ", " : "").append(getOrderByExpression(i));
+                values.append(i > 0 ? ", :" : ":").append(KEYSET_COLUMN_PREFIX).append(i);
+            }
+            sql.append(sqlOrderByDesc[0] ? ") < (" : ") > (").append(values).append(")");
+            return;
+        }
+
+        sql.append("(");
+        for (int i = 0; i < sqlOrderBy.length; i++) {
+            sql.append(i > 0 ? " OR " : "").append(i > 0 ? "(" : "");
+            for (int j = 0; j < i; j++) {
+                sql.append(getOrderByExpression(j)).append(" = :").append(KEYSET_COLUMN_PREFIX).append(j).append(" AND ");
+            }
+            sql.append(getOrderByExpression(i)).append(sqlOrderByDesc[i] ? " < :" : " > :").append(KEYSET_COLUMN_PREFIX).append(i);
+            sql.append(i > 0 ? ")" : "");
+        }
+        sql.append(")");
+    }
+
     public String getSQLCount() {
+        return getSQLWithSelect("SELECT count(*)");
+    }
+
+    /**
+     * Query that returns a constant for every matching row, without ORDER BY and without reading the columns of the SELECT, to be used in an EXISTS probe.
+     */
+    public String getSQLExists() {
+        return getSQLWithSelect("SELECT 1");
+    }
+
+    private String getSQLWithSelect(String select) {
         StringBuilder sql = new StringBuilder();
         if (sqlSelect != null) {
             int indexFrom = sqlSelect.toUpperCase().indexOf(" FROM ");
-            sql.append("SELECT count(*)").append(sqlSelect.substring(indexFrom));
+            sql.append(select).append(sqlSelect.substring(indexFrom));
         }
         if (!sqlJoins.isEmpty()) {
             sql.append(" ").append(sqlJoins);
@@ -0,0 +1,85 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Pooled id allocator of a sequence. A block of values is fetched with one query and then the values are handed out from memory without locks, only the thread that
+ * finds the block exhausted fetches the next one.
+ */
+public final class SequenceAllocator {
+
+    private final int allocationSize;
+    private final IntFunction<long[]> fetcher;
+    private volatile Block block = new Block(new long[0]);
+
+    /**
+     * @param fetcher returns the next {allocationSize} values of the sequence.
+     */
+    public SequenceAllocator(int allocationSize, IntFunction<long[]> fetcher) {
+        if (allocationSize <= 0) {
+            throw new IllegalArgumentException("The allocation size must be greater than zero");
+        }
+        this.allocationSize = allocationSize;
+        this.fetcher = fetcher;
+    }
+
+    public long next() {
+        while (true) {
+            Block current = block;
+            int index = current.next.getAndIncrement();
+            if (index < current.values.length) {
+                return current.values[index];
+            }
+            refill(current);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        // another thread could have fetched a new block while this one was waiting
+        if (block == exhausted) {
+            long[] values = fetcher.apply(allocationSize);
+            if (values == null || values.length == 0) {
+                throw new IllegalStateException("The sequence did not return values");
+            }
+            block = new Block(values);
+        }
+    }
+
+    public int getAllocationSize() {
+        return allocationSize;
+    }
+
+    private static final class Block {
+
+        private final long[] values;
+        private final AtomicInteger next = new AtomicInteger();
+
+        private Block(long[] values) {
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.util.converter;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Converter of boolean columns. Fields of the primitive type are read with {@link #readBoolean(ResultSet, int)} and assigned without boxing the value.
+ */
+public interface BooleanConverter extends Converter<Boolean> {
+
+    boolean readBoolean(ResultSet rs, int index) throws SQLException;
+
+    @Override
+    default Boolean read(ResultSet rs, int index) throws SQLException {
+        boolean value = readBoolean(rs, index);
+        return rs.wasNull() ? null : value;
+    }
+}
@@ -0,0 +1,42 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.util.converter;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Converts the value of a column to the type of a field (read) and the value of a field to a parameter of a statement (write). A converter is resolved once per field by
+ * {@link ConverterRegistry}, so the type checks are done when the mapping is prepared and not for each row.
+ *
+ * @param <T> type of the field
+ */
+public interface Converter<T> {
+
+    T read(ResultSet rs, int index) throws SQLException;
+
+    default Object write(T value) {
+        return value;
+    }
+}
@@ -0,0 +1,123 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.util.converter;
+
+import cl.kanopus.jdbc.entity.annotation.Column;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @author Pablo Diaz Saavedra
+ *         <p>
+ *         Registry of the converters used to read and write mapped fields. A converter is selected by the parser of the {@link Column}, the type of the field and, optionally,
+ *         the JDBC type of the column ({@link java.sql.Types}). Registered converters take precedence over the default ones, the last registered wins.
+ *
+ *         <p>
+ *         Converters are resolved when the mapping of a class is prepared, so they must be registered when the application starts, before the entities are used.
+ */
+public final class ConverterRegistry {
+
+    /**
+     * Matches any JDBC type of the column.
+     */
+    public static final int ANY_JDBC_TYPE = Integer.MIN_VALUE;
+
+    /**
+     * Matches the columns without parser.
+     */
+    public static final Class<?> NO_PARSER = Column.class;
+
+    private static final List<Registration> registrations = new CopyOnWriteArrayList<>();
+
+    private ConverterRegistry() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static <T> void register(Class<T> fieldType, Converter<T> converter) {
+        register(NO_PARSER, fieldType, ANY_JDBC_TYPE, (column, type) -> converter);
+    }
+
+    public static <T> void register(Class<T> fieldType, int jdbcType, Converter<T> converter) {
+        register(NO_PARSER, fieldType, jdbcType, (column, type) -> converter);
+    }
+
+    public static void register(Class<?> parser, Class<?> fieldType, ConverterFactory factory) {
+        register(parser, fieldType, ANY_JDBC_TYPE, factory);
+    }
+
+    public static void register(Class<?> parser, Class<?> fieldType, int jdbcType, ConverterFactory factory) {
+        registrations.add(0, new Registration(parser, fieldType, jdbcType, factory));
+    }
+
+    /**
+     * Returns the converter of the field for any JDBC type.
+     */
+    public static Converter<?> resolve(Column column, Class<?> fieldType) {
+        return resolve(column, fieldType, ANY_JDBC_TYPE);
+    }
+
+    public static Converter<?> resolve(Column column, Class<?> fieldType, int jdbcType) {
+        for (Registration registration : registrations) {
+            if (registration.matches(column, fieldType, jdbcType)) {
+                Converter<?> converter = registration.factory.create(column, fieldType);
+                if (converter != null) {
+                    return converter;
+                }
+            }
+        }
+        return DefaultConverters.create(column, fieldType);
+    }
+
+    /**
+     * Returns true when a registered converter of the field depends on the JDBC type of the column, in that case the converter is resolved for each ResultSet.
+     */
+    public static boolean dependsOnJdbcType(Column column, Class<?> fieldType) {
+        for (Registration registration : registrations) {
+            if (registration.jdbcType != ANY_JDBC_TYPE && registration.matches(column, fieldType, registration.jdbcType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Registration {
+
+        private final Class<?> parser;
+        private final Class<?> fieldType;
+        private final int jdbcType;
+        private final ConverterFactory factory;
+
+        private Registration(Class<?> parser, Class<?> fieldType, int jdbcType, ConverterFactory factory) {
+            this.parser = parser;
+            this.fieldType = fieldType;
+            this.jdbcType = jdbcType;
+            this.factory = factory;
+        }
+
+        private boolean matches(Column column, Class<?> type, int columnJdbcType) {
+            return parser == column.parser() && (fieldType == type || (!type.isPrimitive() && fieldType.isAssignableFrom(type)))
+                    && (jdbcType == ANY_JDBC_TYPE || jdbcType == columnJdbcType);
+        }
+    }
+}
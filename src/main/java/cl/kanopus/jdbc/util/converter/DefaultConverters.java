@@ -0,0 +1,226 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.util.converter;
+
+import cl.kanopus.common.enums.EnumIdentifiable;
+import cl.kanopus.common.util.GsonUtils;
+import cl.kanopus.common.util.Utils;
+import cl.kanopus.common.util.crypto.CryptographyUtils;
+import cl.kanopus.jdbc.entity.annotation.Column;
+import cl.kanopus.jdbc.util.parser.*;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.postgresql.util.PGobject;
+
+/**
+ * Converters of the parsers and field types supported by default.
+ */
+@SuppressWarnings("all")
+final class DefaultConverters {
+
+    // TODO: parametrizar el encoding
+    private static final Charset DEFAULT_CHARSET = StandardCharsets.ISO_8859_1;
+
+    private DefaultConverters() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static Converter<?> create(Column column, Class<?> fieldType) {
+        final Class parserResult = column.parserResult();
+        final Class parser = column.parser();
+        if (parser == EnumParser.class) {
+            return new Converter<Object>() {
+                @Override
+                public Object read(ResultSet rs, int index) throws SQLException {
+                    String enumId = rs.getString(index);
+                    return EnumParser.parse(parserResult, isNumeric(enumId) ? Integer.valueOf(enumId) : enumId);
+                }
+
+                @Override
+                public Object write(Object value) {
+                    if (value instanceof EnumIdentifiable) {
+                        return ((EnumIdentifiable) value).getId();
+                    } else if (value instanceof Enum) {
+                        return ((Enum) value).name();
+                    }
+                    return value;
+                }
+            };
+        } else if (parser == JsonListParser.class) {
+            return new JsonConverter((rs, index) -> JsonListParser.parse(parserResult, rs.getString(index)));
+        } else if (parser == JsonParser.class) {
+            return new JsonConverter((rs, index) -> JsonParser.parse(parserResult, rs.getString(index)));
+        } else if (parser == ByteaJsonListParser.class) {
+            return new ByteaJsonConverter((rs, index) -> ByteaJsonListParser.parse(parserResult, toText(rs.getBytes(index))));
+        } else if (parser == ByteaJsonParser.class) {
+            return new ByteaJsonConverter((rs, index) -> ByteaJsonParser.parse(parserResult, toText(rs.getBytes(index))));
+        }
+
+        final boolean encrypted = column.encrypted();
+        if (encrypted && fieldType != String.class) {
+            return new TextConverter(column) {
+                @Override
+                public Object read(ResultSet rs, int index) throws SQLException {
+                    return CryptographyUtils.decrypt((String) rs.getObject(index));
+                }
+            };
+        } else if (fieldType == long.class || fieldType == Long.class) {
+            return (LongConverter) (rs, index) -> rs.getLong(index);
+        } else if (fieldType == int.class || fieldType == Integer.class) {
+            return (IntConverter) (rs, index) -> rs.getInt(index);
+        } else if (fieldType == boolean.class || fieldType == Boolean.class) {
+            return (BooleanConverter) (rs, index) -> rs.getBoolean(index);
+        } else if (fieldType == String.class) {
+            return new TextConverter(column) {
+                @Override
+                public Object read(ResultSet rs, int index) throws SQLException {
+                    String value = rs.getString(index);
+                    return encrypted ? CryptographyUtils.decrypt(value) : value;
+                }
+            };
+        } else if (fieldType == StringWriter.class) {
+            return new TextConverter(column) {
+                @Override
+                public Object read(ResultSet rs, int index) throws SQLException {
+                    Object value = rs.getObject(index);
+                    if (value instanceof byte[]) {
+                        StringWriter str = new StringWriter();
+                        str.write(new String((byte[]) value, DEFAULT_CHARSET));
+                        return str;
+                    }
+                    return value;
+                }
+            };
+        } else if (fieldType == LocalDate.class) {
+            return (Converter<Object>) (rs, index) -> {
+                Object value = rs.getObject(index);
+                if (value instanceof java.sql.Date) {
+                    return ((java.sql.Date) value).toLocalDate();
+                } else if (value instanceof java.sql.Timestamp) {
+                    return ((java.sql.Timestamp) value).toLocalDateTime().toLocalDate();
+                }
+                return value;
+            };
+        } else if (fieldType == LocalDateTime.class) {
+            return (Converter<Object>) (rs, index) -> {
+                Object value = rs.getObject(index);
+                if (value instanceof java.sql.Timestamp) {
+                    return ((java.sql.Timestamp) value).toLocalDateTime();
+                }
+                return value;
+            };
+        } else {
+            return new TextConverter(column) {
+                @Override
+                public Object read(ResultSet rs, int index) throws SQLException {
+                    return rs.getObject(index);
+                }
+            };
+        }
+    }
+
+    private static String toText(byte[] bytes) {
+        return bytes != null ? new String(bytes, DEFAULT_CHARSET) : null;
+    }
+
+    private static boolean isNumeric(String str) {
+        return (!Utils.isNullOrEmpty(str)) ? str.matches("[0-9]+") : false;
+    }
+
+    private static final class JsonConverter implements Converter<Object> {
+
+        private final Converter<Object> reader;
+
+        private JsonConverter(Converter<Object> reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Object read(ResultSet rs, int index) throws SQLException {
+            return reader.read(rs, index);
+        }
+
+        @Override
+        public Object write(Object value) {
+            try {
+                PGobject jsonbObj = new PGobject();
+                jsonbObj.setType("json");
+                jsonbObj.setValue(GsonUtils.custom.toJson(value));
+                return jsonbObj;
+            } catch (SQLException ex) {
+                throw new IllegalArgumentException("Error converting the value to json", ex);
+            }
+        }
+    }
+
+    private static final class ByteaJsonConverter implements Converter<Object> {
+
+        private final Converter<Object> reader;
+
+        private ByteaJsonConverter(Converter<Object> reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Object read(ResultSet rs, int index) throws SQLException {
+            return reader.read(rs, index);
+        }
+
+        @Override
+        public Object write(Object value) {
+            return GsonUtils.custom.toJson(value).getBytes(DEFAULT_CHARSET);
+        }
+    }
+
+    /**
+     * Write side of the fields without a specific converter, texts are trimmed to the length of the column and encrypted when required.
+     */
+    private abstract static class TextConverter implements Converter<Object> {
+
+        private final int length;
+        private final boolean encrypted;
+
+        private TextConverter(Column column) {
+            this.length = column.length();
+            this.encrypted = column.encrypted();
+        }
+
+        @Override
+        public Object write(Object value) {
+            if (value instanceof StringWriter) {
+                return ((StringWriter) value).toString().getBytes(DEFAULT_CHARSET);
+            } else if (value instanceof String) {
+                String text = ((String) value).trim();
+                text = (length > 0 && text.length() > length) ? text.substring(0, length) : text;
+                return encrypted ? CryptographyUtils.encrypt(text) : text;
+            }
+            return value;
+        }
+    }
+}
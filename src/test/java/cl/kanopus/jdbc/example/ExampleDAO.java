@@ -33,6 +33,8 @@ import cl.kanopus.jdbc.util.SQLQueryDynamic;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -54,6 +56,23 @@ public class ExampleDAO extends AbstractBaseDAO<TestData, Long> implements DAOIn
         return super.findPaginator(query);
     }
 
+    /**
+     * Finds records with pagination support, reading the total of records in the same query of the page.
+     *
+     * @param searcher
+     *            Search criteria including limit and offset.
+     * @return A Paginator object containing the results.
+     * @throws DataException
+     *             If a data access error occurs.
+     */
+    public Paginator<TestData> findWithPaginatorTotalCountWithWindow(Searcher searcher) throws DataException {
+        SQLQueryDynamic query = new SQLQueryDynamic(TestData.class);
+        query.setEnableTotalCountWithWindow(true);
+        query.setLimit(searcher.getLimit());
+        query.setOffset(searcher.getOffset());
+        return super.findPaginator(query);
+    }
+
     /**
      * Gets a list of all records but loading into memory only 250 records.This is ideal for traversing millions of records from the database without causing overhead.
      *
@@ -83,4 +102,50 @@ public class ExampleDAO extends AbstractBaseDAO<TestData, Long> implements DAOIn
         query.setLimit(5);
         return super.findQueryIterator(query);
     }
+
+    /**
+     * Reads all the records over one cursor, the stream must be closed to release the connection.
+     *
+     * @return A stream over TestData records.
+     */
+    public Stream<TestData> streamAll() {
+        SQLQueryDynamic query = new SQLQueryDynamic(TestData.class);
+        query.setOrderBy("pk_test_data");
+        return super.stream(query, 100);
+    }
+
+    /**
+     * Reads the records of the given ids over one cursor, the ids are sent as a single IN list parameter.
+     *
+     * @param ids
+     *            Primary keys of the records.
+     * @return A stream over TestData records.
+     */
+    public Stream<TestData> streamByIds(List<Long> ids) {
+        SQLQueryDynamic query = new SQLQueryDynamic(TestData.class);
+        query.addCustomCondition("pk_test_data IN (:ids)");
+        query.addCustomParam("ids", ids);
+        query.setOrderBy("pk_test_data");
+        return super.stream(query, 100);
+    }
+
+    /**
+     * Processes all the records in lists of 10, without loading the whole result in memory.
+     *
+     * @param action
+     *            Receives each list of records.
+     */
+    public void forEachBatchAll(Consumer<List<TestData>> action) {
+        SQLQueryDynamic query = new SQLQueryDynamic(TestData.class);
+        query.setOrderBy("pk_test_data");
+        super.forEachBatch(query, 10, action);
+    }
+
+    public Iterator<TestData> findQueryIteratorWithKeyset() {
+        SQLQueryDynamic query = new SQLQueryDynamic(TestData.class);
+        query.setOrderBy("pk_test_data");
+        query.setLimit(5);
+        query.setEnableKeysetPagination(true);
+        return super.findQueryIterator(query);
+    }
 }
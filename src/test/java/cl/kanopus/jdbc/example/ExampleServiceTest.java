@@ -36,6 +36,8 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -73,6 +75,14 @@ class ExampleServiceTest {
         }
     }
 
+    @Test
+    void exampleFindWithPaginationTotalCountWithWindow() throws Exception {
+        Paginator<TestData> expected = dao.findWithPaginator(new Searcher<>());
+        Paginator<TestData> records = dao.findWithPaginatorTotalCountWithWindow(new Searcher<>());
+        Assertions.assertEquals(expected.getTotalRecords(), records.getTotalRecords());
+        Assertions.assertEquals(expected.getRecords().size(), records.getRecords().size());
+    }
+
     @Test
     void exampleFindWithIterator() {
         Iterator<TestData> iterator = dao.findWithIterator();
@@ -103,6 +113,53 @@ class ExampleServiceTest {
         }
     }
 
+    @Test
+    void exampleFindQueryIteratorWithKeyset() {
+        Iterator<TestData> iterator = dao.findQueryIteratorWithKeyset();
+        long last = 0;
+        while (iterator.hasNext()) {
+            TestData data = iterator.next();
+            Assertions.assertNotNull(data);
+            Assertions.assertTrue(data.getId() > last);
+            last = data.getId();
+        }
+    }
+
+    @Test
+    void exampleStreamAll() {
+        long expected = dao.findWithPaginator(new Searcher<>()).getTotalRecords();
+        try (Stream<TestData> stream = dao.streamAll()) {
+            Assertions.assertEquals(expected, stream.filter(data -> data.getId() > 0).count());
+        }
+        // the connection is released, the dao can still be used
+        Assertions.assertNotNull(dao.getById((long) 1));
+    }
+
+    @Test
+    void exampleStreamByIds() {
+        List<Long> ids = new ArrayList<>();
+        try (Stream<TestData> stream = dao.streamAll()) {
+            stream.limit(2).forEach(data -> ids.add(data.getId()));
+        }
+        List<Long> search = new ArrayList<>(ids);
+        search.add(-1L);
+        // the list is expanded into one parameter per id
+        try (Stream<TestData> stream = dao.streamByIds(search)) {
+            Assertions.assertEquals(ids, stream.map(TestData::getId).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void exampleForEachBatchAll() {
+        long expected = dao.findWithPaginator(new Searcher<>()).getTotalRecords();
+        long[] total = {0};
+        dao.forEachBatchAll(records -> {
+            Assertions.assertTrue(records.size() > 0 && records.size() <= 10);
+            total[0] += records.size();
+        });
+        Assertions.assertEquals(expected, total[0]);
+    }
+
     @Test
     void exampleGetByID() {
         TestData entity = dao.getById((long) 1);
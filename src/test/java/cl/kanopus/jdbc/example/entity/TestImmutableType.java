@@ -0,0 +1,53 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.example.entity;
+
+import cl.kanopus.jdbc.entity.Mapping;
+import cl.kanopus.jdbc.entity.annotation.Column;
+import cl.kanopus.jdbc.entity.annotation.ColumnGroup;
+import cl.kanopus.jdbc.entity.annotation.Table;
+import lombok.Getter;
+
+/**
+ * Immutable entity of the 'tmp_test_type' table. It has no constructor without arguments, rows are created with the constructor that receives the mapped fields, and the name is
+ * grouped into a record.
+ */
+@Getter
+@Table(name = "tmp_test_type", keys = {"pk_test_type"})
+public class TestImmutableType extends Mapping {
+
+    @Column(name = "pk_test_type")
+    private final long id;
+
+    @ColumnGroup(result = Name.class)
+    private final Name name;
+
+    public TestImmutableType(long id, Name name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public record Name(@Column(name = "name", length = 10) String value) {
+    }
+}
@@ -0,0 +1,55 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.example.entity;
+
+import cl.kanopus.jdbc.entity.Mapping;
+import cl.kanopus.jdbc.entity.annotation.Column;
+import cl.kanopus.jdbc.entity.annotation.Table;
+import cl.kanopus.jdbc.example.entity.enums.Status;
+import cl.kanopus.jdbc.util.parser.EnumParser;
+import cl.kanopus.jdbc.util.parser.JsonListParser;
+import java.util.List;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Entity class representing the 'tmp_test_data' table with dirty tracking enabled, so an update only writes the columns that changed after the entity was loaded.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Table(name = "tmp_test_data", keys = {"pk_test_data"}, dirtyTracking = true)
+public class TestTrackedData extends Mapping {
+
+    @Column(name = "pk_test_data")
+    private long id;
+
+    @Column(name = "td_login_id", length = 10)
+    private String loginId;
+
+    @Column(name = "td_status", parser = EnumParser.class, parserResult = Status.class)
+    private Status status;
+
+    @Column(name = "td_list_json", parser = JsonListParser.class, parserResult = TestData.JsonData.class)
+    private List<TestData.JsonData> jsonList;
+}
@@ -0,0 +1,44 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.example.entity;
+
+import cl.kanopus.jdbc.entity.Mapping;
+import cl.kanopus.jdbc.entity.annotation.Column;
+import cl.kanopus.jdbc.entity.annotation.ColumnGroup;
+import cl.kanopus.jdbc.entity.annotation.Table;
+import lombok.Getter;
+
+/**
+ * Entity of the 'tmp_test_type' table with all its columns grouped into a record, the key is a primitive component of the record.
+ */
+@Getter
+@Table(name = "tmp_test_type", keys = {"pk_test_type"})
+public class TestTypeRecord extends Mapping {
+
+    @ColumnGroup(result = Key.class)
+    private Key key;
+
+    public record Key(@Column(name = "pk_test_type") long id, @Column(name = "name", length = 10) String name) {
+    }
+}
@@ -0,0 +1,47 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.example.invalid;
+
+import cl.kanopus.jdbc.entity.Mapping;
+import cl.kanopus.jdbc.entity.annotation.Column;
+import cl.kanopus.jdbc.entity.annotation.JoinTable;
+import cl.kanopus.jdbc.entity.annotation.View;
+import cl.kanopus.jdbc.example.entity.TestType;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Invalid entity used to validate the startup checks, a view does not support @JoinTable.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@View("SELECT * FROM tmp_test_data")
+public class TestInvalidViewData extends Mapping {
+
+    @Column(name = "pk_test_data")
+    private long id;
+
+    @JoinTable(table = TestType.class, foreignKey = "fk_test_type")
+    private TestType type;
+}
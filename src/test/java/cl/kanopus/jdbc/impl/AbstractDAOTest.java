@@ -28,16 +28,24 @@ import cl.kanopus.jdbc.config.TestDataSourceConfig;
 import cl.kanopus.jdbc.example.entity.TestData;
 import cl.kanopus.jdbc.example.entity.TestDataEmpty;
 import cl.kanopus.jdbc.example.entity.TestDataHistory;
+import cl.kanopus.jdbc.example.entity.TestImmutableType;
+import cl.kanopus.jdbc.example.entity.TestTrackedData;
 import cl.kanopus.jdbc.example.entity.TestType;
+import cl.kanopus.jdbc.example.entity.TestTypeRecord;
 import cl.kanopus.jdbc.example.entity.enums.Color;
 import cl.kanopus.jdbc.example.entity.enums.Status;
+import cl.kanopus.jdbc.exception.DataException;
+import cl.kanopus.jdbc.util.ColumnarResult;
 import cl.kanopus.jdbc.util.SQLQueryDynamic;
 import cl.kanopus.jdbc.util.SQLQueryDynamic.Condition;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -93,6 +101,28 @@ class AbstractDAOTest {
         }
     }
 
+    @Test
+    void testFindAllImmutable() {
+        List<TestImmutableType> result = daoTest.findAll(TestImmutableType.class);
+        Assertions.assertFalse(result.isEmpty());
+        for (TestImmutableType type : result) {
+            Assertions.assertNotNull(type.getName());
+            Assertions.assertNotNull(type.getName().value());
+        }
+    }
+
+    @Test
+    void testNullPrimitiveRecordComponent() {
+        HashMap<String, Object> params = new HashMap<>();
+        Exception ex = Assertions.assertThrows(Exception.class, () -> daoTest.find("SELECT CAST(NULL AS bigint) AS pk_test_type, name FROM tmp_test_type", params, TestTypeRecord.class));
+        Throwable cause = ex;
+        while (cause != null && !(cause instanceof DataException && cause.getMessage().contains("primitive"))) {
+            cause = cause.getCause();
+        }
+        Assertions.assertNotNull(cause);
+        Assertions.assertTrue(cause.getMessage().contains("pk_test_type"));
+    }
+
     @Test
     void testFindAllEmpty() {
         List<TestDataEmpty> records = daoTest.findAll(TestDataEmpty.class);
@@ -185,6 +215,155 @@ class AbstractDAOTest {
         Assertions.assertNotNull(daoTest.persist(test));
     }
 
+    @Test
+    void testPersistAll() throws Exception {
+        TestType type = new TestType();
+        type.setId(1);
+
+        List<TestData> list = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            TestData.TestDataGroup group = new TestData.TestDataGroup();
+            group.setText("Batch text " + i);
+
+            TestData test = new TestData();
+            // rows with and without serial key are inserted with different statements
+            test.setId(i % 2 == 0 ? daoTest.generateID() : 0);
+            test.setLoginId("batch" + i);
+            test.setSystemId(1);
+            test.setDate(new Date());
+            test.setLocalDate(LocalDate.now());
+            test.setLocalDateTime(LocalDateTime.now());
+            test.setGroup(group);
+            test.setStatus(Status.SUCCESS);
+            test.setColor(Color.BLACK);
+            test.setType(type);
+            list.add(test);
+        }
+
+        int[] counts = daoTest.persistAll(list, 2);
+        Assertions.assertEquals(5, counts.length);
+        for (int count : counts) {
+            Assertions.assertEquals(1, count);
+        }
+        for (TestData test : list) {
+            Assertions.assertTrue(test.getId() > 0, "the generated key must be set into the entity");
+        }
+    }
+
+    @Test
+    void testPersistAllMultiRow() throws Exception {
+        TestType type = new TestType();
+        type.setId(1);
+
+        List<TestData> list = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            TestData test = new TestData();
+            // rows with and without serial key are inserted with different statements
+            test.setId(i % 3 == 0 ? daoTest.generateID() : 0);
+            test.setLoginId("multi" + i);
+            test.setSystemId(1);
+            test.setDate(new Date());
+            test.setLocalDate(LocalDate.now());
+            test.setLocalDateTime(LocalDateTime.now());
+            test.setStatus(Status.SUCCESS);
+            test.setColor(Color.BLACK);
+            test.setType(type);
+            list.add(test);
+        }
+
+        Assertions.assertEquals(7, daoTest.persistAllMultiRow(list));
+    }
+
+    @Test
+    void testCopyAll() throws Exception {
+        TestType type = new TestType();
+        type.setId(1);
+
+        List<TestData> list = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            TestData.TestDataGroup group = new TestData.TestDataGroup();
+            group.setText("Copy text\t" + i);
+
+            TestData test = new TestData();
+            test.setLoginId("copy" + i);
+            test.setSystemId(1);
+            test.setDate(new Date());
+            test.setLocalDate(LocalDate.now());
+            test.setLocalDateTime(LocalDateTime.now());
+            test.setGroup(group);
+            test.setStatus(Status.SUCCESS);
+            test.setColor(Color.BLACK);
+            test.setType(type);
+            list.add(test);
+        }
+
+        Assertions.assertEquals(10, daoTest.copyAll(list));
+    }
+
+    @Test
+    void testUpsert() throws Exception {
+        TestType type = new TestType();
+        type.setId(1);
+
+        TestData test = new TestData();
+        test.setId(daoTest.generateID());
+        test.setLoginId("upsert");
+        test.setSystemId(1);
+        test.setDate(new Date());
+        test.setLocalDate(LocalDate.now());
+        test.setLocalDateTime(LocalDateTime.now());
+        test.setStatus(Status.SUCCESS);
+        test.setColor(Color.BLACK);
+        test.setType(type);
+
+        // the first call inserts the row and the second one updates it
+        daoTest.upsert(test);
+        test.setStatus(Status.ERROR);
+        daoTest.upsert(test);
+        Assertions.assertEquals(Status.ERROR, daoTest.getById(test.getId()).getStatus());
+
+        test.setColor(Color.RED);
+        int[] counts = daoTest.upsertAll(Arrays.asList(test));
+        Assertions.assertEquals(1, counts.length);
+        Assertions.assertEquals(1, counts[0]);
+    }
+
+    @Test
+    void testUpdateAllAndDeleteByIds() throws Exception {
+        TestType type = new TestType();
+        type.setId(1);
+
+        List<TestData> list = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TestData test = new TestData();
+            test.setId(daoTest.generateID());
+            test.setLoginId("bulk" + i);
+            test.setSystemId(1);
+            test.setDate(new Date());
+            test.setLocalDate(LocalDate.now());
+            test.setLocalDateTime(LocalDateTime.now());
+            test.setStatus(Status.SUCCESS);
+            test.setColor(Color.BLACK);
+            test.setType(type);
+            list.add(test);
+            ids.add(test.getId());
+        }
+        daoTest.persistAll(list);
+
+        for (TestData test : list) {
+            test.setColor(Color.RED);
+        }
+        int[] counts = daoTest.updateAll(list, 2);
+        Assertions.assertEquals(3, counts.length);
+        for (int count : counts) {
+            Assertions.assertEquals(1, count);
+        }
+
+        Assertions.assertEquals(3, daoTest.deleteByIds(ids));
+        Assertions.assertEquals(0, daoTest.deleteByIds(ids));
+    }
+
     @Test
     void testPersistAutomaticSequence() throws Exception {
         TestData.TestDataGroup group = new TestData.TestDataGroup();
@@ -204,6 +383,7 @@ class AbstractDAOTest {
         test.setColor(Color.BLACK);
         test.setType(type);
         Assertions.assertNotNull(daoTest.persist(test));
+        Assertions.assertTrue(test.getId() > 0, "the generated key must be set into the entity");
     }
 
     @Test
@@ -222,6 +402,58 @@ class AbstractDAOTest {
         Assertions.assertNotNull(daoTest.update(test));
     }
 
+    @Test
+    void testUpdateKeepsLazyForeignKey() throws Exception {
+        String sql = "SELECT fk_test_type FROM tmp_test_data WHERE pk_test_data=:id";
+        HashMap<String, Object> params = new HashMap<>();
+        params.put("id", 1L);
+        Long foreignKey = daoTest.queryForLong(sql, params);
+        Assertions.assertNotNull(foreignKey);
+
+        // the lazy join table is not loaded, so the entity has no type
+        TestData test = daoTest.getById(1L);
+        Assertions.assertNull(test.getType());
+        test.setLoginId("lazyfk");
+        daoTest.update(test);
+
+        Assertions.assertEquals(foreignKey, daoTest.queryForLong(sql, params));
+    }
+
+    @Test
+    void testExistsById() throws Exception {
+        Assertions.assertTrue(daoTest.existsById(1L));
+        Assertions.assertFalse(daoTest.existsById(-1L));
+    }
+
+    @Test
+    void testFindByIds() throws Exception {
+        Map<Long, TestData> found = daoTest.findByIds(Arrays.asList(1L, -1L));
+        Assertions.assertEquals(1, found.size());
+        Assertions.assertEquals(1L, found.get(1L).getId());
+        Assertions.assertTrue(daoTest.findByIds(new ArrayList<>()).isEmpty());
+    }
+
+    @Test
+    void testUpdateDirtyTracking() throws Exception {
+        HashMap<String, Object> params = new HashMap<>();
+        params.put("id", 1);
+        List<TestTrackedData> list = daoTest.find("SELECT pk_test_data, td_login_id, td_status, td_list_json FROM tmp_test_data WHERE pk_test_data=:id", params, TestTrackedData.class);
+        Assertions.assertEquals(1, list.size());
+
+        TestTrackedData tracked = list.get(0);
+        tracked.setStatus(Status.ERROR);
+        daoTest.updateAny(tracked);
+        Assertions.assertEquals(Status.ERROR.getId(), daoTest.queryForString("SELECT td_status FROM tmp_test_data WHERE pk_test_data=:id", params));
+
+        // the row is changed through another copy, nothing changed in the tracked entity so its update must not overwrite the row
+        TestTrackedData other = daoTest.find("SELECT pk_test_data, td_login_id, td_status, td_list_json FROM tmp_test_data WHERE pk_test_data=:id", params, TestTrackedData.class).get(0);
+        other.setStatus(Status.SUCCESS);
+        daoTest.updateAny(other);
+
+        daoTest.updateAny(tracked);
+        Assertions.assertEquals(Status.SUCCESS.getId(), daoTest.queryForString("SELECT td_status FROM tmp_test_data WHERE pk_test_data=:id", params));
+    }
+
     @Test
     void testQueryForInteger() {
         HashMap<String, String> params = new HashMap<>();
@@ -291,6 +523,20 @@ class AbstractDAOTest {
         Assertions.assertNotNull(result);
     }
 
+    @Test
+    void testFindColumnar() {
+        SQLQueryDynamic sqlQuery = new SQLQueryDynamic("SELECT pk_test_type, name FROM tmp_test_type");
+        sqlQuery.setOrderBy("pk_test_type", SortOrder.ASCENDING);
+
+        ColumnarResult result = daoTest.findColumnar(sqlQuery);
+        Assertions.assertTrue(result.getRowCount() >= 2);
+        Assertions.assertEquals(ColumnarResult.ColumnType.INT, result.getColumnType(0));
+        Assertions.assertEquals(ColumnarResult.ColumnType.STRING, result.getColumnType(1));
+        Assertions.assertEquals(1, result.getInts("pk_test_type")[0]);
+        Assertions.assertEquals("ONE", result.getString(1, 0));
+        Assertions.assertEquals(result.getRowCount(), sqlQuery.getTotalResultCount());
+    }
+
     @Test
     void testFindStrings() {
         HashMap<String, String> params = new HashMap<>();
@@ -26,6 +26,7 @@ package cl.kanopus.jdbc.impl;
 import cl.kanopus.jdbc.DAOInterface;
 import cl.kanopus.jdbc.entity.Mapping;
 import cl.kanopus.jdbc.example.entity.TestData;
+import cl.kanopus.jdbc.util.ColumnarResult;
 import cl.kanopus.jdbc.util.SQLQueryDynamic;
 import java.util.HashMap;
 import java.util.List;
@@ -51,4 +52,8 @@ public interface DAOTest extends DAOInterface<TestData, Long> {
     List<?> find(SQLQueryDynamic sqlQuery);
 
     List findAll(Class clazz);
+
+    <I extends Mapping> I updateAny(I entity);
+
+    ColumnarResult findColumnar(SQLQueryDynamic sqlQuery);
 }
@@ -26,6 +26,7 @@ package cl.kanopus.jdbc.impl;
 import cl.kanopus.jdbc.entity.Mapping;
 import cl.kanopus.jdbc.example.entity.TestData;
 import cl.kanopus.jdbc.impl.engine.Engine;
+import cl.kanopus.jdbc.util.ColumnarResult;
 import cl.kanopus.jdbc.util.SQLQueryDynamic;
 import java.util.HashMap;
 import java.util.List;
@@ -99,4 +100,14 @@ public class DAOTestImpl extends AbstractDAO<TestData, Long> implements DAOTest
     public List findAll(Class clazz) {
         return super.findAll(clazz);
     }
+
+    @Override
+    public <I extends Mapping> I updateAny(I entity) {
+        return super.updateAny(entity);
+    }
+
+    @Override
+    public ColumnarResult findColumnar(SQLQueryDynamic sqlQuery) {
+        return super.findColumnar(sqlQuery);
+    }
 }
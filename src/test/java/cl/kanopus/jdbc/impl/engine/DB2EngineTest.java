@@ -23,6 +23,7 @@
  */
 package cl.kanopus.jdbc.impl.engine;
 
+import java.util.Arrays;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -47,6 +48,30 @@ class DB2EngineTest {
         Assertions.assertEquals("VALUES NEXT VALUE FOR my_sequence", result);
     }
 
+    @Test
+    void testCreateSqlNextvalBlock() {
+        String result = DB2Engine.getInstance().createSqlNextvalBlock("my_sequence", 3);
+        Assertions.assertEquals("WITH block(n) AS (VALUES 1 UNION ALL SELECT n + 1 FROM block WHERE n < 3) SELECT NEXT VALUE FOR my_sequence FROM block", result);
+    }
+
+    @Test
+    void testCreateSqlUpsert() {
+        String result = DB2Engine.getInstance().createSqlUpsert("my_table", Arrays.asList("id", "name"), Arrays.asList("id"), Arrays.asList("name"));
+        Assertions.assertEquals("MERGE INTO my_table AS target USING SYSIBM.SYSDUMMY1 ON target.id=:id WHEN MATCHED THEN UPDATE SET name=:name WHEN NOT MATCHED THEN INSERT (id,name) VALUES (:id,:name)", result);
+    }
+
+    @Test
+    void testCreateSqlInsertRows() {
+        String result = DB2Engine.getInstance().createSqlInsertRows("my_table", Arrays.asList("id", "name"), 2);
+        Assertions.assertEquals("INSERT INTO my_table(id,name) VALUES(:id_0,:name_0),(:id_1,:name_1)", result);
+    }
+
+    @Test
+    void testCreateSqlExists() {
+        String result = DB2Engine.getInstance().createSqlExists("SELECT 1 FROM table");
+        Assertions.assertEquals("SELECT CASE WHEN EXISTS (SELECT 1 FROM table) THEN 1 ELSE 0 END FROM SYSIBM.SYSDUMMY1", result);
+    }
+
     @Test
     void testPrepareSQL2Engine() {
         String sql = "SELECT * FROM table";
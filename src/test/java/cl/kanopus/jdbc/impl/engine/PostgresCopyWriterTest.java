@@ -0,0 +1,78 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.impl.engine;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.util.PGobject;
+
+class PostgresCopyWriterTest {
+
+    @Test
+    void testWriteRow() throws Exception {
+        FakeCopyIn copyIn = new FakeCopyIn();
+        PostgresCopyWriter writer = new PostgresCopyWriter(copyIn.proxy());
+
+        PGobject json = new PGobject();
+        json.setType("json");
+        json.setValue("{\"text\":\"a\\tb\"}");
+
+        writer.writeRow(Arrays.asList(1L, "line\nbreak\tand \\", null, true, new byte[]{0x0A, (byte) 0xFF}, json));
+        writer.writeRow(Arrays.asList(2L, "second", null, false, null, null));
+        Assertions.assertEquals(0, copyIn.data.size(), "rows must be buffered until the end");
+        Assertions.assertEquals(2, writer.finish());
+
+        Assertions.assertEquals("1\tline\\nbreak\\tand \\\\\t\\N\tt\t\\\\x0aff\t{\"text\":\"a\\\\tb\"}\n2\tsecond\t\\N\tf\t\\N\t\\N\n",
+                copyIn.data.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Records the bytes sent to the driver, a proxy is used because CopyIn has more methods than the ones used by the writer.
+     */
+    private static class FakeCopyIn {
+
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+        private CopyIn proxy() {
+            return (CopyIn) Proxy.newProxyInstance(CopyIn.class.getClassLoader(), new Class<?>[]{CopyIn.class}, (instance, method, args) -> {
+                switch (method.getName()) {
+                    case "writeToCopy" :
+                        data.write((byte[]) args[0], (int) args[1], (int) args[2]);
+                        return null;
+                    case "endCopy" :
+                        return (long) data.toString(StandardCharsets.UTF_8).split("\n").length;
+                    case "isActive" :
+                        return false;
+                    default :
+                        return null;
+                }
+            });
+        }
+    }
+}
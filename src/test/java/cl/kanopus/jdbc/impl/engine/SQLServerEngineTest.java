@@ -23,11 +23,60 @@
  */
 package cl.kanopus.jdbc.impl.engine;
 
+import java.util.Arrays;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 class SQLServerEngineTest {
 
+    @Test
+    void testCreateSqlNextvalBlock() {
+        String result = SQLServerEngine.getInstance().createSqlNextvalBlock("my_sequence", 3);
+        Assertions.assertEquals("SELECT NEXT VALUE FOR my_sequence FROM (VALUES (0),(1),(2)) AS block(n)", result);
+    }
+
+    @Test
+    void testCreateSqlInsertReturning() {
+        String result = SQLServerEngine.getInstance().createSqlInsertReturning("INSERT INTO my_table(name) VALUES(:name)", Arrays.asList("id"));
+        Assertions.assertEquals("INSERT INTO my_table(name) OUTPUT INSERTED.id VALUES(:name)", result);
+    }
+
+    @Test
+    void testCreateSqlUpsert() {
+        String result = SQLServerEngine.getInstance().createSqlUpsert("my_table", Arrays.asList("id", "name"), Arrays.asList("id"), Arrays.asList("name"));
+        Assertions.assertEquals("MERGE INTO my_table AS target USING (VALUES(:id,:name)) AS source(id,name) ON target.id=source.id WHEN MATCHED THEN UPDATE SET name=source.name WHEN NOT MATCHED THEN INSERT (id,name) VALUES (source.id,source.name);", result);
+    }
+
+    @Test
+    void testCreateSqlInsertRows() {
+        String result = SQLServerEngine.getInstance().createSqlInsertRows("my_table", Arrays.asList("id", "name"), 2);
+        Assertions.assertEquals("INSERT INTO my_table(id,name) VALUES(:id_0,:name_0),(:id_1,:name_1)", result);
+    }
+
+    @Test
+    void testCreateSqlInsertRowsReturning() {
+        String result = SQLServerEngine.getInstance().createSqlInsertRowsReturning("my_table", Arrays.asList("name", "code"), 2, Arrays.asList("id"));
+        Assertions.assertEquals("MERGE INTO my_table AS target USING (VALUES(:name_0,:code_0,0),(:name_1,:code_1,1)) AS source(name,code,kanopus_row) ON 1=0 WHEN NOT MATCHED THEN INSERT (name,code) VALUES (source.name,source.code) OUTPUT source.kanopus_row,INSERTED.id;", result);
+    }
+
+    @Test
+    void testGetMaxInsertRows() {
+        Assertions.assertEquals(1000, SQLServerEngine.getInstance().getMaxInsertRows(2));
+        Assertions.assertEquals(209, SQLServerEngine.getInstance().getMaxInsertRows(10));
+        // 3, 7 and 300 divide 2100, a statement must stay below 2100 parameters
+        for (int columns : new int[]{3, 7, 10, 300, 2099}) {
+            int rows = SQLServerEngine.getInstance().getMaxInsertRows(columns);
+            Assertions.assertTrue(rows * columns < 2100, "columns: " + columns);
+        }
+        Assertions.assertEquals(699, SQLServerEngine.getInstance().getMaxInsertRows(3));
+    }
+
+    @Test
+    void testCreateSqlExists() {
+        String result = SQLServerEngine.getInstance().createSqlExists("SELECT 1 FROM table");
+        Assertions.assertEquals("SELECT CASE WHEN EXISTS (SELECT 1 FROM table) THEN 1 ELSE 0 END", result);
+    }
+
     @Test
     void testPrepareSQL2Engine() {
 
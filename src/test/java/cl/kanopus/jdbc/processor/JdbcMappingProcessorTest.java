@@ -0,0 +1,153 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.processor;
+
+import cl.kanopus.jdbc.entity.Mapping;
+import cl.kanopus.jdbc.entity.mapper.GeneratedMapping;
+import cl.kanopus.jdbc.example.entity.TestData;
+import cl.kanopus.jdbc.example.entity.TestViewData;
+import cl.kanopus.jdbc.util.DmlStatements;
+import cl.kanopus.jdbc.util.JdbcCache;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JdbcMappingProcessorTest {
+
+    private static final String SOURCES = "src/test/java/cl/kanopus/jdbc/example/entity/";
+
+    @TempDir
+    Path output;
+
+    @Test
+    void validateGeneratedMappingEqualsRuntime() throws Exception {
+        compile(SOURCES + "TestData.java", SOURCES + "TestViewData.java");
+
+        Assertions.assertTrue(Files.exists(output.resolve("META-INF/services/" + GeneratedMapping.class.getName())));
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            GeneratedMapping generated = load(classLoader, TestData.class);
+            Assertions.assertSame(TestData.class, generated.getMappedClass());
+            Assertions.assertEquals("tmp_test_data", generated.getTable());
+            Assertions.assertEquals(JdbcCache.sqlBase(TestData.class, true).getSql(), generated.getSql(true));
+            Assertions.assertEquals(JdbcCache.sqlBase(TestData.class, false).getSql(), generated.getSql(false));
+            Assertions.assertEquals(JdbcCache.sqlBase(TestData.class, true).getAliasMap(), generated.getAliasMap(true));
+            Assertions.assertEquals(JdbcCache.translationMap(TestData.class), generated.getTranslationMap());
+
+            GeneratedMapping view = load(classLoader, TestViewData.class);
+            Assertions.assertNull(view.getTable());
+            Assertions.assertEquals(JdbcCache.sqlBase(TestViewData.class).getSql(), view.getSql(false));
+        }
+    }
+
+    @Test
+    void validateGeneratedAccessorsAndDml() throws Exception {
+        Path source = output.resolve("src/cl/kanopus/jdbc/generated/TestGenerated.java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, String.join("\n",
+                "package cl.kanopus.jdbc.generated;",
+                "",
+                "import cl.kanopus.jdbc.entity.Mapping;",
+                "import cl.kanopus.jdbc.entity.annotation.Column;",
+                "import cl.kanopus.jdbc.entity.annotation.ColumnGroup;",
+                "import cl.kanopus.jdbc.entity.annotation.Table;",
+                "",
+                "@Table(name = \"tmp_generated\", keys = {\"pk_generated\"})",
+                "public class TestGenerated extends Mapping {",
+                "    @Column(name = \"pk_generated\", serial = true)",
+                "    long id;",
+                "    @Column(name = \"name\", length = 10)",
+                "    private String name;",
+                "    @Column(name = \"created\", updatable = false)",
+                "    private String created;",
+                "    @ColumnGroup(result = Audit.class)",
+                "    private Audit audit;",
+                "    public String getName() { return name; }",
+                "    public void setName(String name) { this.name = name; }",
+                "    public record Audit(@Column(name = \"login\") String login) {}",
+                "}"));
+
+        // without -processor: the processor is discovered from META-INF/services in the classpath
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assertions.assertEquals(0, compiler.run(null, null, null, "-classpath", System.getProperty("java.class.path"), "-d", output.toString(), "-s", output.toString(),
+                source.toString()));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<? extends Mapping> entityClass = (Class<? extends Mapping>) classLoader.loadClass("cl.kanopus.jdbc.generated.TestGenerated");
+            GeneratedMapping generated = (GeneratedMapping) classLoader.loadClass(entityClass.getName() + GeneratedMapping.SUFFIX).getDeclaredConstructor().newInstance();
+
+            // the class is not visible to JdbcCache, its statements are built with reflection
+            DmlStatements dml = JdbcCache.dmlStatements(entityClass);
+            Assertions.assertEquals(dml.getInsert(true).getParameters(), generated.getInsertColumns());
+            Assertions.assertEquals(dml.getInsert(true).getSql(), generated.getInsertSql(true));
+            Assertions.assertEquals(dml.getInsert(false).getSql(), generated.getInsertSql(false));
+            Assertions.assertEquals(dml.getUpdate().getSql(), generated.getUpdateSql());
+            Assertions.assertEquals(dml.getDelete().getSql(), generated.getDeleteSql());
+            Assertions.assertEquals(dml.getSerialColumns(), generated.getSerialColumns());
+
+            // package field, JavaBean property and record component; the private group without getter keeps the method handle
+            Object entity = entityClass.getDeclaredConstructor().newInstance();
+            generated.getSetters().get(GeneratedMapping.fieldKey(entityClass.getName(), "id")).accept(entity, 7);
+            generated.getSetters().get(GeneratedMapping.fieldKey(entityClass.getName(), "name")).accept(entity, "kanopus");
+            Assertions.assertEquals(7L, generated.getGetters().get(GeneratedMapping.fieldKey(entityClass.getName(), "id")).apply(entity));
+            Assertions.assertEquals("kanopus", JdbcCache.accessor(entityClass).getField("name").get(entity));
+            Assertions.assertFalse(generated.getGetters().containsKey(GeneratedMapping.fieldKey(entityClass.getName(), "created")));
+            Assertions.assertFalse(generated.getGetters().containsKey(GeneratedMapping.fieldKey(entityClass.getName(), "audit")));
+
+            Class<?> audit = classLoader.loadClass(entityClass.getName() + "$Audit");
+            Object group = audit.getDeclaredConstructor(String.class).newInstance("admin");
+            Assertions.assertEquals("admin", generated.getGetters().get(GeneratedMapping.fieldKey(audit.getName(), "login")).apply(group));
+            Assertions.assertFalse(generated.getSetters().containsKey(GeneratedMapping.fieldKey(audit.getName(), "login")));
+        }
+    }
+
+    private GeneratedMapping load(ClassLoader classLoader, Class<?> clazz) throws Exception {
+        return (GeneratedMapping) classLoader.loadClass(clazz.getName() + GeneratedMapping.SUFFIX).getDeclaredConstructor().newInstance();
+    }
+
+    private void compile(String... sources) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> arguments = Arrays.asList("-proc:only", "-implicit:none", "-processor", JdbcMappingProcessor.class.getName(),
+                "-classpath", System.getProperty("java.class.path"), "-sourcepath", "src/test/java", "-d", output.toString(), "-s", output.toString());
+        String[] options = new String[arguments.size() + sources.length];
+        arguments.toArray(options);
+        for (int i = 0; i < sources.length; i++) {
+            options[arguments.size() + i] = new File(sources[i]).getPath();
+        }
+        Assertions.assertEquals(0, compiler.run(null, null, null, options));
+
+        compiler = ToolProvider.getSystemJavaCompiler();
+        Assertions.assertEquals(0, compiler.run(null, null, null, "-proc:none", "-classpath", System.getProperty("java.class.path"), "-d", output.toString(),
+                output.resolve("cl/kanopus/jdbc/example/entity/TestData" + GeneratedMapping.SUFFIX + ".java").toString(),
+                output.resolve("cl/kanopus/jdbc/example/entity/TestViewData" + GeneratedMapping.SUFFIX + ".java").toString()));
+    }
+}
@@ -25,7 +25,14 @@ package cl.kanopus.jdbc.util;
 
 import cl.kanopus.jdbc.example.entity.TestData;
 import cl.kanopus.jdbc.example.entity.TestViewData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -66,10 +73,98 @@ class JdbcCacheTest {
                 baseLazy.getSql());
     }
 
+    @Test
+    void validateDmlStatements() {
+        DmlStatements dml = JdbcCache.dmlStatements(TestData.class);
+        Assertions.assertSame(dml, JdbcCache.dmlStatements(TestData.class));
+
+        Assertions.assertEquals(
+                "INSERT INTO tmp_test_data(td_system_id,td_login_id,td_date,td_local_date,td_local_date_time,td_status,td_color_id,td_color_json,td_data_json,td_list_json,fk_test_type,td_text) VALUES(:td_system_id,:td_login_id,:td_date,:td_local_date,:td_local_date_time,:td_status,:td_color_id,:td_color_json,:td_data_json,:td_list_json,:fk_test_type,:td_text)",
+                dml.getInsert(false).getSql());
+        Assertions.assertEquals(
+                "INSERT INTO tmp_test_data(pk_test_data,td_system_id,td_login_id,td_date,td_local_date,td_local_date_time,td_status,td_color_id,td_color_json,td_data_json,td_list_json,fk_test_type,td_text) VALUES(:pk_test_data,:td_system_id,:td_login_id,:td_date,:td_local_date,:td_local_date_time,:td_status,:td_color_id,:td_color_json,:td_data_json,:td_list_json,:fk_test_type,:td_text)",
+                dml.getInsert(true).getSql());
+        Assertions.assertEquals(
+                "UPDATE tmp_test_data SET td_system_id=:td_system_id,td_login_id=:td_login_id,td_date=:td_date,td_local_date=:td_local_date,td_local_date_time=:td_local_date_time,td_status=:td_status,td_color_id=:td_color_id,td_color_json=:td_color_json,td_data_json=:td_data_json,td_list_json=:td_list_json,fk_test_type=:fk_test_type,td_text=:td_text WHERE pk_test_data=:pk_test_data",
+                dml.getUpdate().getSql());
+        Assertions.assertEquals("DELETE FROM tmp_test_data WHERE pk_test_data=:pk_test_data", dml.getDelete().getSql());
+    }
+
+    @Test
+    void validateDmlPartialUpdate() {
+        DmlStatements dml = JdbcCache.dmlStatements(TestData.class);
+        DmlStatements.Statement update = dml.getUpdate(Arrays.asList("td_status", "pk_test_data", "td_login_id"));
+        Assertions.assertEquals("UPDATE tmp_test_data SET td_login_id=:td_login_id,td_status=:td_status WHERE pk_test_data=:pk_test_data", update.getSql());
+        Assertions.assertSame(update, dml.getUpdate(Arrays.asList("td_login_id", "td_status")));
+        Assertions.assertNull(dml.getUpdate(Arrays.asList("pk_test_data")));
+    }
+
+    @Test
+    void validateDmlPartialInsert() {
+        DmlStatements dml = JdbcCache.dmlStatements(TestData.class);
+        // without the join table and the column group, as an entity whose type and group are null
+        DmlStatements.Statement insert = dml.getInsert(Arrays.asList("td_status", "td_login_id", "td_system_id"));
+        Assertions.assertEquals("INSERT INTO tmp_test_data(td_system_id,td_login_id,td_status) VALUES(:td_system_id,:td_login_id,:td_status)", insert.getSql());
+        Assertions.assertSame(insert, dml.getInsert(Arrays.asList("td_system_id", "td_login_id", "td_status")));
+        Assertions.assertTrue(dml.isSerialOmitted(insert));
+        Assertions.assertFalse(dml.isSerialOmitted(dml.getInsert(true)));
+        Assertions.assertSame(dml.getInsert(false), dml.getInsert(dml.getInsert(false).getParameters()));
+    }
+
+    @Test
+    void validateDmlPartialUpdateBounded() {
+        DmlStatements dml = new DmlStatements(TestData.class);
+        List<String> columns = new ArrayList<>(dml.getUpdate().getParameters());
+        columns.remove("pk_test_data");
+        List<DmlStatements.Statement> updates = new ArrayList<>();
+        for (int i = 1; i <= DmlStatements.MAX_PARTIAL_STATEMENTS + 8; i++) {
+            List<String> set = new ArrayList<>();
+            for (int k = 0; k < columns.size(); k++) {
+                if ((i & (1 << k)) != 0) {
+                    set.add(columns.get(k));
+                }
+            }
+            updates.add(dml.getUpdate(set));
+        }
+        // the first sets are cached, the ones past the limit are created again with the same text
+        Assertions.assertSame(updates.get(0), dml.getUpdate(Arrays.asList(columns.get(0))));
+        DmlStatements.Statement last = updates.get(updates.size() - 1);
+        Assertions.assertNotSame(last, dml.getUpdate(last.getParameters()));
+        Assertions.assertEquals(last.getSql(), dml.getUpdate(last.getParameters()).getSql());
+    }
+
     @Test
     void validateSqlBaseView() {
         JdbcCache.SqlBase base = JdbcCache.sqlBase(TestViewData.class);
         Assertions.assertNotNull(base.getSql());
         Assertions.assertEquals("SELECT * FROM tmp_test_data", base.getSql());
     }
+
+    @Test
+    void validateSqlBaseBuiltOnceConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<JdbcCache.SqlBase>> tasks = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                tasks.add(() -> JdbcCache.sqlBase(TestViewData.class, true));
+            }
+            JdbcCache.SqlBase first = null;
+            for (Future<JdbcCache.SqlBase> future : executor.invokeAll(tasks)) {
+                first = first == null ? future.get() : first;
+                Assertions.assertSame(first, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        JdbcCache.CacheStatistics statistics = JdbcCache.statistics().stream().filter(s -> s.getName().equals("sqlBase")).findFirst().orElseThrow();
+        Assertions.assertTrue(statistics.getMisses() > 0);
+        Assertions.assertTrue(statistics.getHits() >= 31);
+    }
+
+    @Test
+    void validateTranslationMapNotModifiable() {
+        Map<String, String> cache = JdbcCache.translationMap(TestData.class);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> cache.put("other", "tmp_test_data.other"));
+    }
 }
@@ -0,0 +1,55 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.util;
+
+import cl.kanopus.jdbc.entity.Mapping;
+import cl.kanopus.jdbc.example.entity.TestData;
+import cl.kanopus.jdbc.example.entity.TestType;
+import cl.kanopus.jdbc.example.entity.TestViewData;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class JdbcCacheWarmupTest {
+
+    @Test
+    void validateWarmupEntities() {
+        JdbcCacheWarmup warmup = new JdbcCacheWarmup("cl.kanopus.jdbc.example.entity");
+        warmup.setParallelism(2);
+
+        Map<Class<? extends Mapping>, Duration> times = warmup.warmup();
+        Assertions.assertTrue(times.containsKey(TestData.class));
+        Assertions.assertTrue(times.containsKey(TestType.class));
+        Assertions.assertTrue(times.containsKey(TestViewData.class));
+    }
+
+    @Test
+    void validateWarmupInvalidMapping() {
+        JdbcCacheWarmup warmup = new JdbcCacheWarmup("cl.kanopus.jdbc.example.invalid");
+
+        IllegalStateException ex = Assertions.assertThrows(IllegalStateException.class, warmup::warmup);
+        Assertions.assertTrue(ex.getMessage().contains("TestInvalidViewData"));
+    }
+}
@@ -68,6 +68,75 @@ class SQLQueryDynamicTest {
         Assertions.assertEquals("VALUE1", sqlQuery.getParams().get("test"));
     }
 
+    @Test
+    void validateSQLExists() {
+        SQLQueryDynamic sqlQuery = new SQLQueryDynamic("SELECT id, name FROM tbl_user");
+        sqlQuery.addCondition("userid", 123, SQLQueryDynamic.Condition.EQUAL);
+        sqlQuery.setOrderBy("name", SortOrder.ASCENDING);
+        Assertions.assertEquals("SELECT 1 FROM tbl_user WHERE userid=:userid_0", sqlQuery.getSQLExists());
+    }
+
+    @Test
+    void validateSQLWithTotalCount() {
+        SQLQueryDynamic sqlQuery = new SQLQueryDynamic("SELECT id, name FROM tbl_user");
+        sqlQuery.addCondition("userid", 123, SQLQueryDynamic.Condition.EQUAL);
+        sqlQuery.setLimit(10);
+        Assertions.assertFalse(sqlQuery.isTotalCountWithWindow());
+        sqlQuery.setEnableTotalCountWithWindow(true);
+        Assertions.assertTrue(sqlQuery.isTotalCountWithWindow());
+        Assertions.assertEquals("SELECT id, name, COUNT(*) OVER() AS kanopus_total_count FROM tbl_user WHERE userid=:userid_0", sqlQuery.getSQLWithTotalCount());
+
+        SQLQueryDynamic sqlDistinct = new SQLQueryDynamic("SELECT DISTINCT name FROM tbl_user");
+        sqlDistinct.setEnableTotalCountWithWindow(true);
+        sqlDistinct.setLimit(10);
+        Assertions.assertFalse(sqlDistinct.isTotalCountWithWindow());
+
+        SQLQueryDynamic sqlAll = new SQLQueryDynamic("SELECT * FROM tbl_user");
+        sqlAll.setEnableTotalCountWithWindow(true);
+        sqlAll.setLimit(10);
+        Assertions.assertFalse(sqlAll.isTotalCountWithWindow());
+    }
+
+    @Test
+    void validateSQLKeyset() {
+        SQLQueryDynamic sqlQuery = new SQLQueryDynamic("SELECT id, name FROM tbl_user");
+        sqlQuery.addCondition("userid", 123, SQLQueryDynamic.Condition.EQUAL);
+        sqlQuery.setOrderBy(new String[]{"name", "id"}, new SortOrder[]{SortOrder.ASCENDING, SortOrder.ASCENDING});
+        sqlQuery.setEnableKeysetPagination(true);
+        Assertions.assertEquals("SELECT id, name, name AS kanopus_key_0, id AS kanopus_key_1 FROM tbl_user WHERE userid=:userid_0 ORDER BY name ASC, id ASC", sqlQuery.getSQL());
+        Assertions.assertTrue(sqlQuery.getKeysetParams().isEmpty());
+
+        sqlQuery.setKeysetValues(new Object[]{"ANA", 7});
+        Assertions.assertEquals("SELECT id, name, name AS kanopus_key_0, id AS kanopus_key_1 FROM tbl_user WHERE (userid=:userid_0) AND (name > :kanopus_key_0 OR (name = :kanopus_key_0 AND id > :kanopus_key_1)) ORDER BY name ASC, id ASC", sqlQuery.getSQL());
+        Assertions.assertEquals("ANA", sqlQuery.getKeysetParams().get("kanopus_key_0"));
+        Assertions.assertEquals(7, sqlQuery.getKeysetParams().get("kanopus_key_1"));
+        Assertions.assertEquals(1, sqlQuery.getParams().size());
+
+        sqlQuery.setKeysetRowValueComparison(true);
+        Assertions.assertEquals("SELECT id, name, name AS kanopus_key_0, id AS kanopus_key_1 FROM tbl_user WHERE (userid=:userid_0) AND (name, id) > (:kanopus_key_0, :kanopus_key_1) ORDER BY name ASC, id ASC", sqlQuery.getSQL());
+
+        SQLQueryDynamic sqlDesc = new SQLQueryDynamic("SELECT id FROM tbl_user");
+        sqlDesc.setOrderBy("id", SortOrder.DESCENDING);
+        sqlDesc.setEnableKeysetPagination(true);
+        sqlDesc.setKeysetValues(new Object[]{10});
+        Assertions.assertEquals("SELECT id, id AS kanopus_key_0 FROM tbl_user WHERE (id < :kanopus_key_0) ORDER BY id DESC", sqlDesc.getSQL());
+    }
+
+    @Test
+    void validateSQLKeysetNotExtensible() {
+        // the keyset columns can not be added to these queries, they keep the offset pagination
+        for (String select : new String[]{"SELECT * FROM tbl_user", "SELECT DISTINCT id FROM tbl_user", "SELECT id, (SELECT max(x) FROM tbl_other) FROM tbl_user"}) {
+            SQLQueryDynamic sqlQuery = new SQLQueryDynamic(select);
+            sqlQuery.setOrderBy("id", SortOrder.ASCENDING);
+            sqlQuery.setEnableKeysetPagination(true);
+            sqlQuery.setKeysetValues(new Object[]{10});
+            Assertions.assertFalse(sqlQuery.isKeysetPagination());
+            Assertions.assertEquals(0, sqlQuery.getKeysetColumnCount());
+            Assertions.assertTrue(sqlQuery.getKeysetParams().isEmpty());
+            Assertions.assertEquals(select + " ORDER BY id ASC", sqlQuery.getSQL());
+        }
+    }
+
     @Test
     void validateConditionWhere() {
         final String parameterName = "userid";
@@ -0,0 +1,91 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SequenceAllocatorTest {
+
+    @Test
+    void testNextFetchesBlocks() {
+        AtomicLong sequence = new AtomicLong();
+        AtomicInteger queries = new AtomicInteger();
+        SequenceAllocator allocator = new SequenceAllocator(10, size -> {
+            queries.incrementAndGet();
+            long[] values = new long[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = sequence.incrementAndGet();
+            }
+            return values;
+        });
+
+        for (long expected = 1; expected <= 25; expected++) {
+            Assertions.assertEquals(expected, allocator.next());
+        }
+        Assertions.assertEquals(3, queries.get());
+    }
+
+    @Test
+    void testConcurrentNextReturnsUniqueValues() throws Exception {
+        AtomicLong sequence = new AtomicLong();
+        SequenceAllocator allocator = new SequenceAllocator(7, size -> {
+            long[] values = new long[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = sequence.incrementAndGet();
+            }
+            return values;
+        });
+
+        Set<Long> values = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tasks.add(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        Assertions.assertTrue(values.add(allocator.next()));
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertEquals(8000, values.size());
+    }
+}
@@ -0,0 +1,76 @@
+/*-
+ * !--
+ * For support and inquiries regarding this library, please contact:
+ *   soporte@kanopus.cl
+ *
+ * Project website:
+ *   https://www.kanopus.cl
+ * %%
+ * Copyright (C) 2025 Pablo Díaz Saavedra
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * --!
+ */
+package cl.kanopus.jdbc.util.converter;
+
+import cl.kanopus.jdbc.entity.annotation.Column;
+import cl.kanopus.jdbc.example.entity.TestData;
+import cl.kanopus.jdbc.example.entity.enums.Status;
+import java.sql.Types;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ConverterRegistryTest {
+
+    @Test
+    void validateDefaultConverters() throws Exception {
+        Assertions.assertInstanceOf(LongConverter.class, ConverterRegistry.resolve(column(TestData.class, "id"), long.class));
+        Assertions.assertEquals("SUCCESS", ((Converter<Object>) ConverterRegistry.resolve(column(TestData.class, "status"), Status.class)).write(Status.SUCCESS));
+        Assertions.assertEquals("0123456789", ((Converter<Object>) ConverterRegistry.resolve(column(TestData.class, "loginId"), String.class)).write(" 0123456789ABC "));
+    }
+
+    @Test
+    void validateRegisteredConverter() throws Exception {
+        Converter<String> upper = new Converter<String>() {
+            @Override
+            public String read(java.sql.ResultSet rs, int index) throws java.sql.SQLException {
+                return rs.getString(index).toUpperCase();
+            }
+
+            @Override
+            public Object write(String value) {
+                return value.toUpperCase();
+            }
+        };
+        ConverterRegistry.register(UpperParser.class, String.class, (column, type) -> upper);
+        ConverterRegistry.register(UpperParser.class, String.class, Types.CLOB, (column, type) -> upper);
+
+        Column column = column(UpperData.class, "name");
+        Assertions.assertSame(upper, ConverterRegistry.resolve(column, String.class));
+        Assertions.assertTrue(ConverterRegistry.dependsOnJdbcType(column, String.class));
+        Assertions.assertFalse(ConverterRegistry.dependsOnJdbcType(column(TestData.class, "loginId"), String.class));
+    }
+
+    private static Column column(Class<?> clazz, String field) throws NoSuchFieldException {
+        return clazz.getDeclaredField(field).getAnnotation(Column.class);
+    }
+
+    static final class UpperParser {
+    }
+
+    static final class UpperData {
+
+        @Column(name = "name", parser = UpperParser.class)
+        private String name;
+    }
+}